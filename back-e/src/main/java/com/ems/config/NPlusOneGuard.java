@@ -0,0 +1,116 @@
+package com.ems.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * N+1 select guard
+ *
+ * Counts the SQL statements Hibernate sends while an HTTP request is handled (including lazy
+ * loads during JSON serialization). When the same SELECT, i.e. the same SQL with different
+ * parameters, runs more than max-repeated-selects times in one request, an association is
+ * most likely being loaded row by row: the request is logged with the statement and its count.
+ * With fail-on-violation the offending statement throws instead, so the request fails and the
+ * N+1 cannot go unnoticed. The guard is off unless enabled; the dev and test profiles turn it
+ * on in fail mode.
+ */
+@Component
+@Slf4j
+public class NPlusOneGuard extends OncePerRequestFilter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    @Value("${app.jpa.n-plus-one-guard.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.jpa.n-plus-one-guard.max-repeated-selects:10}")
+    private int maxRepeatedSelects;
+
+    @Value("${app.jpa.n-plus-one-guard.fail-on-violation:false}")
+    private boolean failOnViolation;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestStatements statements = new RequestStatements();
+        CURRENT.set(statements);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+            if (statements.maxRepeats > maxRepeatedSelects) {
+                log.warn("Possible N+1 select in {} {}: same query ran {} times ({} statements in total): {}",
+                        request.getMethod(), request.getRequestURI(), statements.maxRepeats,
+                        statements.total, statements.mostRepeated);
+            }
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements statements = CURRENT.get();
+        if (statements != null) {
+            int repeats = statements.record(sql);
+            if (failOnViolation && repeats > maxRepeatedSelects) {
+                throw new IllegalStateException("Possible N+1 select: same query ran " + repeats +
+                        " times in one request: " + sql);
+            }
+        }
+        return sql;
+    }
+
+    private static boolean isSelect(String sql) {
+        String statement = sql.stripLeading();
+        return statement.regionMatches(true, 0, "select", 0, 6) || statement.regionMatches(true, 0, "with", 0, 4);
+    }
+
+    /**
+     * Statements seen during one request
+     */
+    private static class RequestStatements {
+
+        private final Map<String, Integer> selectCounts = new HashMap<>();
+        private int total;
+        private int maxRepeats;
+        private String mostRepeated;
+
+        /**
+         * @return How often this statement ran so far if it is a SELECT, otherwise 0
+         */
+        int record(String sql) {
+            total++;
+            if (!isSelect(sql)) {
+                return 0;
+            }
+            int repeats = selectCounts.merge(sql, 1, Integer::sum);
+            if (repeats > maxRepeats) {
+                maxRepeats = repeats;
+                mostRepeated = sql;
+            }
+            return repeats;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.ems.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Aligns ID sequences with existing data on startup
+ *
+ * The write-heavy tables get their IDs from pooled sequences (allocation size 50) so that
+ * Hibernate can batch inserts. Tables created before the switch used identity columns, so
+ * each sequence is moved past the current maximum ID before any insert can use it.
+ */
+@Component
+@Slf4j
+public class SequenceInitializer {
+
+    // Tables whose entities use @SequenceGenerator with sequence "<table>_seq"
+    private static final List<String> SEQUENCE_TABLES = List.of(
+            "main_tickets", "ticket_assignments", "mini_job_cards",
+            "job_status_logs", "activity_logs", "employee_scores");
+
+    // Injected so the schema (and its sequences) exists before alignment runs
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequences() {
+        for (String table : SEQUENCE_TABLES) {
+            String sequence = table + "_seq";
+            List<Long> aligned = jdbcTemplate.queryForList(
+                    "SELECT setval('" + sequence + "', m.max_id) " +
+                    "FROM (SELECT MAX(id) AS max_id FROM " + table + ") m, " + sequence + " s " +
+                    "WHERE m.max_id > s.last_value", Long.class);
+            if (!aligned.isEmpty()) {
+                log.info("Moved sequence {} past existing IDs (now {})", sequence, aligned.get(0));
+            }
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.ems.controller;
 
+import com.ems.dto.BulkApprovalFilterRequest;
+import com.ems.dto.BulkApprovalResult;
+import com.ems.dto.CursorPage;
 import com.ems.dto.ScoreRequest;
 import com.ems.entity.EmployeeScore;
 import com.ems.entity.MiniJobCard;
+import com.ems.service.BulkApprovalService;
 import com.ems.service.TicketService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -31,6 +35,7 @@ import java.util.List;
 public class AdminApprovalController {
 
     private final TicketService ticketService;
+    private final BulkApprovalService bulkApprovalService;
 
     /**
      * Get all pending approvals
@@ -50,6 +55,26 @@ public class AdminApprovalController {
         return ResponseEntity.ok(pendingApprovals);
     }
 
+    /**
+     * Get pending approvals with keyset paging
+     * Same queue as /pending, newest first, but each slice costs the same however deep
+     * the caller scrolls and no total count is computed
+     *
+     * @param cursor nextCursor from the previous slice (omit for the first slice)
+     * @param size Slice size (default 10)
+     * @return CursorPage of MiniJobCard entities with COMPLETED status and approved=false
+     */
+    @GetMapping("/pending/queue")
+    public ResponseEntity<CursorPage<MiniJobCard>> getPendingApprovalQueue(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        if (size < 1 || size > 100) {
+            throw new RuntimeException("Size must be between 1 and 100");
+        }
+        return ResponseEntity.ok(ticketService.getPendingApprovalQueue(cursor, size));
+    }
+
     /**
      * Approve mini job card
      * Marks job card as approved
@@ -92,20 +117,40 @@ public class AdminApprovalController {
 
     /**
      * Bulk approve mini job cards
-     * Approve multiple job cards at once
+     * Approve multiple job cards at once; cards that cannot be approved are skipped
+     * and reported with the reason
      *
      * @param ids List of mini job card IDs
      * @param auth Spring Security authentication
-     * @return List of approved MiniJobCard entities
+     * @return BulkApprovalResult with the outcome for each ID
      */
     @PutMapping("/bulk-approve")
-    public ResponseEntity<List<MiniJobCard>> bulkApproveMiniJobCards(
+    public ResponseEntity<BulkApprovalResult> bulkApproveMiniJobCards(
             @RequestBody List<Long> ids,
             Authentication auth) {
 
         String approvedBy = auth.getName();
-        List<MiniJobCard> approved = ticketService.bulkApproveMiniJobCards(ids, approvedBy);
-        return ResponseEntity.ok(approved);
+        BulkApprovalResult result = bulkApprovalService.approve(ids, approvedBy);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Bulk approve by filter
+     * Approves all completed job cards that ended in the date range,
+     * optionally only those of one employee
+     *
+     * @param request Employee (optional) and date range
+     * @param auth Spring Security authentication
+     * @return BulkApprovalResult with the outcome for each matched job card
+     */
+    @PutMapping("/bulk-approve/filter")
+    public ResponseEntity<BulkApprovalResult> bulkApproveByFilter(
+            @Valid @RequestBody BulkApprovalFilterRequest request,
+            Authentication auth) {
+
+        String approvedBy = auth.getName();
+        BulkApprovalResult result = bulkApprovalService.approveByFilter(request, approvedBy);
+        return ResponseEntity.ok(result);
     }
 
     /**
@@ -222,4 +267,20 @@ public class AdminApprovalController {
             "count", count
         ));
     }
+
+    /**
+     * Backfill job card status durations
+     * Recomputes work, travel and on-hold minutes from the status logs for
+     * job cards that were created before durations were tracked
+     *
+     * @return Number of job cards updated
+     */
+    @PostMapping("/durations/backfill")
+    public ResponseEntity<?> backfillStatusDurations() {
+        int count = ticketService.backfillStatusDurations();
+        return ResponseEntity.ok(java.util.Map.of(
+            "message", "Backfilled durations for " + count + " job cards",
+            "count", count
+        ));
+    }
 }
@@ -167,7 +167,8 @@ public class AdminGeneratorController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        Pageable pageable = PageRequest.of(page, size,
+                Sort.by("createdAt").descending().and(Sort.by("id").descending()));
         Page<MainTicket> tickets = ticketService.getTicketsByGenerator(id, pageable);
         return ResponseEntity.ok(tickets);
     }
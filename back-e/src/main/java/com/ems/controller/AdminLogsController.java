@@ -1,6 +1,9 @@
 package com.ems.controller;
 
 import com.ems.dto.ActivityLogResponseDTO;
+import com.ems.dto.CursorPage;
+import com.ems.service.ActivityLogWriter;
+import com.ems.service.LogPartitionService;
 import com.ems.service.LogService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -11,6 +14,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 /**
  * Admin Logs Controller
  * Handles viewing and filtering of activity logs for admin
@@ -25,6 +30,8 @@ import org.springframework.web.bind.annotation.*;
 public class AdminLogsController {
 
     private final LogService logService;
+    private final ActivityLogWriter activityLogWriter;
+    private final LogPartitionService logPartitionService;
 
     /**
      * Get all activity logs with optional filters
@@ -51,6 +58,32 @@ public class AdminLogsController {
         return ResponseEntity.ok(logs);
     }
 
+    /**
+     * Get activity logs with keyset paging
+     * Same filters and order as GET /api/admin/logs, but each slice costs the same however
+     * deep the caller scrolls and no total count is computed
+     *
+     * @param employeeId Optional employee ID filter (null for all employees)
+     * @param startDate Optional start date filter (format: YYYY-MM-DD)
+     * @param endDate Optional end date filter (format: YYYY-MM-DD)
+     * @param cursor nextCursor from the previous slice (omit for the first slice; send the same filters)
+     * @param size Slice size (default 20)
+     * @return CursorPage of ActivityLogResponseDTO
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<ActivityLogResponseDTO>> getActivityLogsByCursor(
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        if (size < 1 || size > 100) {
+            throw new RuntimeException("Size must be between 1 and 100");
+        }
+        return ResponseEntity.ok(logService.getFilteredLogsByCursor(employeeId, startDate, endDate, cursor, size));
+    }
+
     /**
      * Get all activity logs without filters
      * Returns all logs across all employees and dates
@@ -68,4 +101,27 @@ public class AdminLogsController {
         Page<ActivityLogResponseDTO> logs = logService.getAllLogs(pageable);
         return ResponseEntity.ok(logs);
     }
+
+    /**
+     * Get background log writer statistics
+     * Buffer depth, entries written/failed and flush latency
+     *
+     * @return Writer statistics
+     */
+    @GetMapping("/writer/stats")
+    public ResponseEntity<Map<String, Object>> getWriterStatistics() {
+        return ResponseEntity.ok(activityLogWriter.getStatistics());
+    }
+
+    /**
+     * Run log partition maintenance now
+     * Creates upcoming monthly partitions and applies the retention policy
+     * (normally done on startup and daily)
+     *
+     * @return Partitions created, detached or dropped per table
+     */
+    @PostMapping("/partitions/maintain")
+    public ResponseEntity<Map<String, Object>> maintainPartitions() {
+        return ResponseEntity.ok(logPartitionService.maintainPartitions());
+    }
 }
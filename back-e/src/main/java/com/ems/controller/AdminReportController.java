@@ -4,12 +4,18 @@ import com.ems.dto.DailyTimeTrackingReportDTO;
 import com.ems.dto.EmployeeDailyWorkTimeReportDTO;
 import com.ems.dto.OTReportResponse;
 import com.ems.dto.TimeTrackingReportResponse;
+import com.ems.service.EmployeeDayFactService;
+import com.ems.service.ReportCache;
 import com.ems.service.ReportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -29,6 +35,8 @@ import java.util.Map;
 public class AdminReportController {
 
     private final ReportService reportService;
+    private final EmployeeDayFactService employeeDayFactService;
+    private final ReportCache reportCache;
 
     /**
      * Get time tracking report
@@ -71,18 +79,23 @@ public class AdminReportController {
 
     /**
      * Get OT breakdown by generator
-     * Shows total OT spent on each generator with employee details
+     * Shows total OT spent on each generator, highest first
      *
      * @param startDate Start date (inclusive)
      * @param endDate End date (inclusive)
-     * @return Map of generator info to OT totals
+     * @param page Optional page number (0-indexed)
+     * @param size Optional page size, e.g. size=10 for the top 10 generators (default: all)
+     * @return Generator ID, name, location and OT totals
      */
     @GetMapping("/overtime-by-generator")
     public ResponseEntity<?> getOTReportByGenerator(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
 
-        var report = reportService.getOTReportByGenerator(startDate, endDate);
+        Pageable pageable = size != null ? PageRequest.of(page, size) : Pageable.unpaged();
+        var report = reportService.getOTReportByGenerator(startDate, endDate, pageable);
         return ResponseEntity.ok(report);
     }
 
@@ -137,14 +150,22 @@ public class AdminReportController {
 
     /**
      * Get generator service history report
-     * Shows all tickets for a generator with completion stats
+     * Shows the tickets for a generator, newest first, with completion stats
      *
      * @param generatorId Generator ID
+     * @param page Optional page number (0-indexed)
+     * @param size Optional page size (default: all tickets)
      * @return Service history and statistics
      */
     @GetMapping("/generator-service-history/{generatorId}")
-    public ResponseEntity<?> getGeneratorServiceHistory(@PathVariable Long generatorId) {
-        var report = reportService.getGeneratorServiceHistory(generatorId);
+    public ResponseEntity<?> getGeneratorServiceHistory(
+            @PathVariable Long generatorId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+
+        Sort newestFirst = Sort.by("createdAt").descending().and(Sort.by("id").descending());
+        Pageable pageable = size != null ? PageRequest.of(page, size, newestFirst) : Pageable.unpaged(newestFirst);
+        var report = reportService.getGeneratorServiceHistory(generatorId, pageable);
         return ResponseEntity.ok(report);
     }
 
@@ -225,6 +246,54 @@ public class AdminReportController {
             .body(csv);
     }
 
+    /**
+     * Stream time tracking report as CSV
+     * Rows are written to the response as they are read from the database,
+     * use for large date ranges instead of /time-tracking/export
+     *
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @param employeeId Optional employee filter
+     * @return Streamed CSV file content
+     */
+    @GetMapping("/time-tracking/export/stream")
+    public ResponseEntity<StreamingResponseBody> streamTimeTrackingReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long employeeId) {
+
+        StreamingResponseBody body = out ->
+            reportService.writeTimeTrackingReportCSV(employeeId, startDate, endDate, out);
+        return ResponseEntity.ok()
+            .header("Content-Type", "text/csv; charset=UTF-8")
+            .header("Content-Disposition", "attachment; filename=time-tracking-report.csv")
+            .body(body);
+    }
+
+    /**
+     * Stream overtime report as CSV
+     * Rows are written to the response as they are read from the database,
+     * use for large date ranges instead of /overtime/export
+     *
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @param employeeId Optional employee filter
+     * @return Streamed CSV file content
+     */
+    @GetMapping("/overtime/export/stream")
+    public ResponseEntity<StreamingResponseBody> streamOvertimeReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long employeeId) {
+
+        StreamingResponseBody body = out ->
+            reportService.writeOTReportCSV(employeeId, startDate, endDate, out);
+        return ResponseEntity.ok()
+            .header("Content-Type", "text/csv; charset=UTF-8")
+            .header("Content-Disposition", "attachment; filename=overtime-report.csv")
+            .body(body);
+    }
+
     /**
      * Get real-time dashboard statistics
      * Current active jobs, employees working, pending approvals
@@ -303,4 +372,47 @@ public class AdminReportController {
             reportService.getEmployeeDailyWorkTimeReport(employeeId, startDate, endDate);
         return ResponseEntity.ok(report);
     }
+
+    /**
+     * Rebuild employee day facts
+     * Recomputes the pre-aggregated employee-day rollup from raw attendance,
+     * job card and score data (e.g. after importing history)
+     *
+     * @param startDate Optional start date (inclusive, default: all history)
+     * @param endDate Optional end date (inclusive, default: today)
+     * @return Number of fact rows written
+     */
+    @PostMapping("/facts/rebuild")
+    public ResponseEntity<?> rebuildEmployeeDayFacts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        int count = employeeDayFactService.rebuildFacts(startDate, endDate);
+        return ResponseEntity.ok(Map.of(
+            "message", "Rebuilt " + count + " employee day facts",
+            "count", count
+        ));
+    }
+
+    /**
+     * Get report cache statistics
+     * Size, hit/miss counts and hit rate of the closed-period report cache
+     *
+     * @return Cache statistics
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getReportCacheStatistics() {
+        return ResponseEntity.ok(reportCache.getStatistics());
+    }
+
+    /**
+     * Clear the report cache
+     *
+     * @return Confirmation message
+     */
+    @DeleteMapping("/cache")
+    public ResponseEntity<?> clearReportCache() {
+        reportCache.invalidateAll();
+        return ResponseEntity.ok(Map.of("message", "Report cache cleared"));
+    }
 }
@@ -0,0 +1,109 @@
+package com.ems.controller;
+
+import com.ems.dto.ReportJobRequest;
+import com.ems.dto.ReportJobResponse;
+import com.ems.service.ReportJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * Admin Report Job Controller
+ * Generates long-running reports in the background
+ * Base path: /api/admin/report-jobs
+ * Security: ADMIN role required
+ */
+@RestController
+@RequestMapping("/api/admin/report-jobs")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    /**
+     * Submit a report job
+     * Returns immediately with a job ID, poll GET /{jobId} until the state is COMPLETED
+     *
+     * @param request Report type, date range and optional employee
+     * @return Job state (202 Accepted)
+     */
+    @PostMapping
+    public ResponseEntity<ReportJobResponse> submitJob(
+            @Valid @RequestBody ReportJobRequest request,
+            Authentication authentication) {
+
+        ReportJobResponse response = reportJobService.submit(request, authentication.getName());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * List the current user's report jobs
+     *
+     * @return Jobs, newest first
+     */
+    @GetMapping
+    public ResponseEntity<List<ReportJobResponse>> getJobs(Authentication authentication) {
+        return ResponseEntity.ok(reportJobService.getJobs(authentication.getName()));
+    }
+
+    /**
+     * Get report job state
+     *
+     * @param jobId Job ID
+     * @return Job state, queue position while queued and download URL when completed
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ReportJobResponse> getJob(
+            @PathVariable String jobId,
+            Authentication authentication) {
+
+        return ResponseEntity.ok(reportJobService.getJob(jobId, authentication.getName()));
+    }
+
+    /**
+     * Download a completed report
+     *
+     * @param jobId Job ID
+     * @return Report file (JSON or CSV depending on report type)
+     */
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<StreamingResponseBody> downloadResult(
+            @PathVariable String jobId,
+            Authentication authentication) {
+
+        String username = authentication.getName();
+        ReportJobResponse job = reportJobService.getJob(jobId, username);
+        if (job.getState() != ReportJobResponse.JobState.COMPLETED) {
+            throw new RuntimeException("Report is not ready. Current state: " + job.getState());
+        }
+
+        StreamingResponseBody body = out -> reportJobService.writeResult(jobId, username, out);
+        return ResponseEntity.ok()
+            .header("Content-Type", reportJobService.getResultContentType(jobId, username))
+            .header("Content-Disposition", "attachment; filename=" + reportJobService.getResultFileName(jobId, username))
+            .body(body);
+    }
+
+    /**
+     * Cancel a queued or running report job
+     *
+     * @param jobId Job ID
+     * @return Updated job state
+     */
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<ReportJobResponse> cancelJob(
+            @PathVariable String jobId,
+            Authentication authentication) {
+
+        return ResponseEntity.ok(reportJobService.cancel(jobId, authentication.getName()));
+    }
+}
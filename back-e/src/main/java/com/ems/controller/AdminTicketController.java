@@ -1,9 +1,12 @@
 package com.ems.controller;
 
+import com.ems.dto.CursorPage;
 import com.ems.dto.MainTicketRequest;
+import com.ems.dto.TicketImportResult;
 import com.ems.entity.MainTicket;
 import com.ems.entity.MiniJobCard;
 import com.ems.entity.TicketAssignment;
+import com.ems.service.TicketImportService;
 import com.ems.service.TicketService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -16,8 +19,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -35,6 +40,7 @@ import java.util.List;
 public class AdminTicketController {
 
     private final TicketService ticketService;
+    private final TicketImportService ticketImportService;
 
     /**
      * Create new main ticket with employee assignments
@@ -54,6 +60,45 @@ public class AdminTicketController {
         return ResponseEntity.status(HttpStatus.CREATED).body(ticket);
     }
 
+    /**
+     * Bulk import tickets from a JSON array
+     * Each element has the same fields as the create ticket request. Valid rows are
+     * imported even if other rows fail; failures are reported per row.
+     *
+     * @param requests Tickets to create
+     * @param auth Spring Security authentication
+     * @return Imported ticket numbers and per-row errors
+     */
+    @PostMapping("/import")
+    public ResponseEntity<TicketImportResult> importTickets(
+            @RequestBody List<MainTicketRequest> requests,
+            Authentication auth) {
+
+        TicketImportResult result = ticketImportService.importTickets(requests, auth.getName());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Bulk import tickets from a CSV file
+     * Header: generatorId,title,description,type,weight,scheduledDate,scheduledTime,employeeIds
+     * (employeeIds separated by ';', e.g. 12;15). Failures are reported per row.
+     *
+     * @param file CSV file
+     * @param auth Spring Security authentication
+     * @return Imported ticket numbers and per-row errors
+     */
+    @PostMapping("/import/csv")
+    public ResponseEntity<TicketImportResult> importTicketsCsv(
+            @RequestParam("file") MultipartFile file,
+            Authentication auth) throws IOException {
+
+        if (file.isEmpty()) {
+            throw new RuntimeException("CSV file is empty");
+        }
+        TicketImportResult result = ticketImportService.importCsv(file.getInputStream(), auth.getName());
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Get all tickets
      * Paginated and sorted
@@ -80,6 +125,26 @@ public class AdminTicketController {
         return ResponseEntity.ok(tickets);
     }
 
+    /**
+     * Get all tickets with keyset paging
+     * Newest first (createdAt, then id); each slice costs the same however deep the caller
+     * scrolls and no total count is computed
+     *
+     * @param cursor nextCursor from the previous slice (omit for the first slice)
+     * @param size Slice size (default 10)
+     * @return CursorPage of MainTicket entities
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<MainTicket>> getAllTicketsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        if (size < 1 || size > 100) {
+            throw new RuntimeException("Size must be between 1 and 100");
+        }
+        return ResponseEntity.ok(ticketService.getAllMainTicketsByCursor(cursor, size));
+    }
+
     /**
      * Get ticket by ID
      * Returns full ticket details with generator info
@@ -310,4 +375,19 @@ public class AdminTicketController {
             ));
         }
     }
+
+    /**
+     * Recount per-status job card counts on main tickets
+     * Only tickets whose stored counts disagree with their job cards are updated
+     *
+     * @return Number of tickets corrected
+     */
+    @PostMapping("/card-counts/recount")
+    public ResponseEntity<?> recountCardCounts() {
+        int count = ticketService.recountTicketCardCounts();
+        return ResponseEntity.ok(java.util.Map.of(
+            "message", "Recounted job cards for " + count + " tickets",
+            "count", count
+        ));
+    }
 }
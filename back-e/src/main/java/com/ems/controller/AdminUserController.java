@@ -1,5 +1,6 @@
 package com.ems.controller;
 
+import com.ems.dto.CursorPage;
 import com.ems.dto.UserPutRequest;
 import com.ems.dto.UserRequest;
 import com.ems.entity.User;
@@ -71,6 +72,26 @@ public class AdminUserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Get all users with keyset paging
+     * Newest first (createdAt, then id); each slice costs the same however deep the caller
+     * scrolls and no total count is computed
+     *
+     * @param cursor nextCursor from the previous slice (omit for the first slice)
+     * @param size Slice size (default 10)
+     * @return CursorPage of User entities
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<User>> getAllUsersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        if (size < 1 || size > 100) {
+            throw new RuntimeException("Size must be between 1 and 100");
+        }
+        return ResponseEntity.ok(userService.getAllUsersByCursor(cursor, size));
+    }
+
     /**
      * Get all employees only
      * Filters by EMPLOYEE role and active status
@@ -0,0 +1,33 @@
+package com.ems.dto;
+
+import com.ems.entity.ActivityType;
+import com.ems.entity.JobStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection for an activity log row with the employee, performer, ticket and generator
+ * columns shown in the admin log list
+ */
+public interface ActivityLogRow {
+    Long getId();
+    Long getEmployeeId();
+    String getEmployeeFullName();
+    String getEmployeeEmail();
+    Long getPerformerId();
+    String getPerformerFullName();
+    String getPerformerEmail();
+    ActivityType getActivityType();
+    Long getMiniJobCardId();
+    Long getMainTicketId();
+    String getTicketNumber();
+    Long getGeneratorId();
+    String getGeneratorName();
+    String getGeneratorLocationName();
+    JobStatus getOldStatus();
+    JobStatus getNewStatus();
+    Double getLatitude();
+    Double getLongitude();
+    String getDetails();
+    LocalDateTime getTimestamp();
+}
@@ -0,0 +1,12 @@
+package com.ems.dto;
+
+import com.ems.entity.JobStatus;
+
+/**
+ * Projection for job card counts grouped by status and approval flag
+ */
+public interface ApprovalStatusCount {
+    JobStatus getStatus();
+    Boolean getApproved();
+    Long getCount();
+}
@@ -0,0 +1,24 @@
+package com.ems.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Bulk Approval Filter Request DTO
+ * Selects completed, unapproved job cards by the date they ended (inclusive range)
+ *
+ * employeeId is optional; when omitted, cards of all employees are approved
+ */
+@Data
+public class BulkApprovalFilterRequest {
+
+    private Long employeeId;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+}
@@ -0,0 +1,43 @@
+package com.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bulk Approval Result DTO
+ * Outcome of a bulk approval. Every requested job card is listed once with its outcome,
+ * so the caller can tell approved cards from ones that were skipped and why.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkApprovalResult {
+
+    private int requestedCount;
+    private int approvedCount;
+    private int skippedCount;
+    private int scoresCreated;
+    private List<ItemResult> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private Long miniJobCardId;
+        private Outcome outcome;
+        private String message;
+    }
+
+    public enum Outcome {
+        APPROVED,
+        ALREADY_APPROVED,
+        NOT_COMPLETED,
+        NOT_FOUND
+    }
+}
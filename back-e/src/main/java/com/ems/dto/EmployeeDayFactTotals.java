@@ -0,0 +1,17 @@
+package com.ems.dto;
+
+/**
+ * Projection for employee day facts summed over a date range
+ * employeeId is null when the totals are not grouped by employee
+ */
+public interface EmployeeDayFactTotals {
+    Long getEmployeeId();
+    Long getWorkMinutes();
+    Long getIdleMinutes();
+    Long getTravelMinutes();
+    Long getRegularMinutes();
+    Long getOtMinutes();
+    Long getJobsCompleted();
+    Long getJobsApproved();
+    Long getScoreSum();
+}
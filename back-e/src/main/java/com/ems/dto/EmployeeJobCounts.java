@@ -0,0 +1,11 @@
+package com.ems.dto;
+
+/**
+ * Projection for job card counts and work minutes grouped by employee
+ */
+public interface EmployeeJobCounts {
+    Long getEmployeeId();
+    Long getTotalJobs();
+    Long getCompletedJobs();
+    Long getWorkMinutes();
+}
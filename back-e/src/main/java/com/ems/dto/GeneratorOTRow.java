@@ -0,0 +1,14 @@
+package com.ems.dto;
+
+/**
+ * Projection for OT attributed to one generator
+ */
+public interface GeneratorOTRow {
+    Long getGeneratorId();
+    String getGeneratorName();
+    String getLocationName();
+    Long getMorningOtMinutes();
+    Long getEveningOtMinutes();
+    Long getTotalOtMinutes();
+    Long getEmployeeCount();
+}
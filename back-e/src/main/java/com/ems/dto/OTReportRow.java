@@ -0,0 +1,13 @@
+package com.ems.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Projection for one employee-day of the overtime report
+ */
+public interface OTReportRow {
+    String getEmployeeName();
+    LocalDate getDate();
+    Integer getMorningOtMinutes();
+    Integer getEveningOtMinutes();
+}
@@ -0,0 +1,41 @@
+package com.ems.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Report Job Request DTO
+ * Specification of a report to be generated in the background
+ *
+ * employeeId is required for EMPLOYEE_WORK and optional for the other report types
+ */
+@Data
+public class ReportJobRequest {
+
+    @NotNull(message = "Report type is required")
+    private ReportType reportType;
+
+    private Long employeeId;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    public enum ReportType {
+        TIME_TRACKING,
+        TIME_TRACKING_CSV,
+        DAILY_TIME_TRACKING,
+        OVERTIME,
+        OVERTIME_CSV,
+        EMPLOYEE_WORK,
+        EMPLOYEE_PRODUCTIVITY;
+
+        public boolean isCsv() {
+            return this == TIME_TRACKING_CSV || this == OVERTIME_CSV;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Report Job Response DTO
+ * Current state of a background report job
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResponse {
+
+    private String jobId;
+    private ReportJobRequest.ReportType reportType;
+    private Long employeeId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private JobState state;
+    private Integer queuePosition; // Jobs ahead of this one while QUEUED (0 = next to run)
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+    private String downloadUrl;
+
+    public enum JobState {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        EXPIRED
+    }
+}
@@ -0,0 +1,13 @@
+package com.ems.dto;
+
+/**
+ * Projection for the per-status job card counts of a main ticket
+ */
+public interface TicketCardCounts {
+    Integer getPendingCards();
+    Integer getTravelingCards();
+    Integer getStartedCards();
+    Integer getOnHoldCards();
+    Integer getCompletedCards();
+    Integer getCancelledCards();
+}
@@ -0,0 +1,53 @@
+package com.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ticket Import Result DTO
+ * Outcome of a bulk ticket import. Valid rows are imported even if other rows fail;
+ * every failed row is listed with its row number (1 = first ticket), for CSV files the
+ * line it starts on (1 = header), and the reason. Valid rows are written in chunks, each in
+ * its own transaction, and chunks lists what each one imported.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketImportResult {
+
+    private int totalRows;
+    private int importedCount;
+    private int failedCount;
+    private int validCount;
+    private List<String> ticketNumbers;
+    private List<ChunkResult> chunks;
+    private List<RowError> errors;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private Integer line; // CSV file line, null for JSON
+        private String message;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChunkResult {
+        private int firstRow;
+        private int lastRow;
+        private int processedCount; // Valid rows processed so far, including this chunk
+        private int importedCount;
+        private int failedCount;
+        private long durationMillis;
+    }
+}
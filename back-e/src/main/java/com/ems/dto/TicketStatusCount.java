@@ -0,0 +1,11 @@
+package com.ems.dto;
+
+import com.ems.entity.JobStatus;
+
+/**
+ * Projection for main ticket counts grouped by status
+ */
+public interface TicketStatusCount {
+    JobStatus getStatus();
+    Long getCount();
+}
@@ -0,0 +1,20 @@
+package com.ems.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Projection for one employee-day of the time tracking report
+ * Work, idle and travel minutes are computed in the database from job status logs
+ */
+public interface TimeTrackingDayRow {
+    Long getEmployeeId();
+    String getEmployeeName();
+    LocalDate getDate();
+    LocalDateTime getDayStartTime();
+    LocalDateTime getDayEndTime();
+    Integer getWorkMinutes();
+    Integer getIdleMinutes();
+    Integer getTravelMinutes();
+    Integer getTotalMinutes();
+}
@@ -0,0 +1,17 @@
+package com.ems.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Projection for a geotagged job status log used by the daily time tracking report
+ */
+public interface TimeTrackingLocationRow {
+    Long getEmployeeId();
+    LocalDate getWorkDate();
+    Long getMiniJobCardId();
+    String getLocationName();
+    Double getLatitude();
+    Double getLongitude();
+    LocalDateTime getLoggedAt();
+}
@@ -5,7 +5,6 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
@@ -18,16 +17,17 @@ import java.time.LocalDateTime;
 public class ActivityLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "activity_logs_seq")
+    @SequenceGenerator(name = "activity_logs_seq", sequenceName = "activity_logs_seq", allocationSize = 50)
     private Long id;
 
     // Employee who performed the action or whom the action was performed on
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id")
     private User employee;
 
     // Person who initiated/performed the action (e.g., admin who approved, employee who updated status)
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "performer_id")
     private User performer;
 
@@ -37,17 +37,17 @@ public class ActivityLog {
     private ActivityType activityType;
 
     // Related mini job card (if applicable)
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mini_job_card_id")
     private MiniJobCard miniJobCard;
 
     // Related main ticket (if applicable)
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "main_ticket_id")
     private MainTicket mainTicket;
 
     // Generator information (if applicable)
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "generator_id")
     private Generator generator;
 
@@ -68,8 +68,14 @@ public class ActivityLog {
     @Column(length = 1000)
     private String details;
 
-    // Timestamp of the activity
-    @CreationTimestamp
+    // Timestamp of the activity (set when the activity happens; logs are inserted in the background)
     @Column(nullable = false, updatable = false)
     private LocalDateTime timestamp;
+
+    @PrePersist
+    protected void onCreate() {
+        if (timestamp == null) {
+            timestamp = LocalDateTime.now();
+        }
+    }
 }
@@ -10,16 +10,25 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "employee_day_attendance")
+@NamedEntityGraph(name = EmployeeDayAttendance.WITH_EMPLOYEE, attributeNodes = @NamedAttributeNode("employee"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class EmployeeDayAttendance {
+
+    // Entity graph loading the employee with the attendance record
+    public static final String WITH_EMPLOYEE = "EmployeeDayAttendance.withEmployee";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    // Optimistic lock; existing rows start at 0 when the column is added
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private Long version;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
     private User employee;
     
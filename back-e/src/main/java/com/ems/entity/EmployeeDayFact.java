@@ -0,0 +1,68 @@
+package com.ems.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * EmployeeDayFact Entity
+ * Pre-aggregated rollup with one row per employee per day, read by the reports
+ *
+ * Maintenance:
+ * - Status spans, completions, approvals and scores are added incrementally by TicketService
+ * - Regular work minutes and OT are copied from attendance when the day ends
+ * - Rows can be rebuilt for any date range from the raw tables (EmployeeDayFactService.rebuildFacts)
+ *
+ * Work/idle/travel minutes are attributed to the day the job card was worked on,
+ * completions and approvals to the job card end date, scores to their work date.
+ */
+@Entity
+@Table(name = "employee_day_facts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_employee_day_facts_employee_date",
+                columnNames = {"employee_id", "date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeDayFact {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id", nullable = false)
+    private User employee;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private Integer workMinutes = 0; // Time spent in STARTED
+
+    @Column(nullable = false)
+    private Integer idleMinutes = 0; // Time spent in ON_HOLD
+
+    @Column(nullable = false)
+    private Integer travelMinutes = 0; // Time spent in TRAVELING
+
+    @Column(nullable = false)
+    private Integer regularMinutes = 0; // Attendance work minutes within official hours
+
+    @Column(nullable = false)
+    private Integer morningOtMinutes = 0;
+
+    @Column(nullable = false)
+    private Integer eveningOtMinutes = 0;
+
+    @Column(nullable = false)
+    private Integer jobsCompleted = 0;
+
+    @Column(nullable = false)
+    private Integer jobsApproved = 0;
+
+    @Column(nullable = false)
+    private Integer scoreSum = 0; // Sum of score weights by work date
+}
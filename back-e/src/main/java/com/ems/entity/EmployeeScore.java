@@ -20,20 +20,36 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "employee_scores")
+@NamedEntityGraph(name = EmployeeScore.WITH_JOB_CARD,
+        attributeNodes = {
+                @NamedAttributeNode("employee"),
+                @NamedAttributeNode(value = "miniJobCard", subgraph = "jobCard")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "jobCard", attributeNodes = {
+                        @NamedAttributeNode("employee"),
+                        @NamedAttributeNode(value = "mainTicket", subgraph = "ticket")
+                }),
+                @NamedSubgraph(name = "ticket", attributeNodes = @NamedAttributeNode("generator"))
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class EmployeeScore {
 
+    // Entity graph loading the employee and the job card with its employee, ticket and generator
+    public static final String WITH_JOB_CARD = "EmployeeScore.withJobCard";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_scores_seq")
+    @SequenceGenerator(name = "employee_scores_seq", sequenceName = "employee_scores_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
     private User employee;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mini_job_card_id", nullable = false)
     private MiniJobCard miniJobCard;
 
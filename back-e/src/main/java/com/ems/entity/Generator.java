@@ -1,5 +1,6 @@
 package com.ems.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,6 +11,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "generators")
+// Referenced lazily by tickets; proxies serialize without their internals
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
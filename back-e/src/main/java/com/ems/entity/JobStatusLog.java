@@ -9,16 +9,29 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "job_status_logs")
+@NamedEntityGraph(name = JobStatusLog.WITH_JOB_CARD,
+        attributeNodes = @NamedAttributeNode(value = "miniJobCard", subgraph = "jobCard"),
+        subgraphs = {
+                @NamedSubgraph(name = "jobCard", attributeNodes = {
+                        @NamedAttributeNode("employee"),
+                        @NamedAttributeNode(value = "mainTicket", subgraph = "ticket")
+                }),
+                @NamedSubgraph(name = "ticket", attributeNodes = @NamedAttributeNode("generator"))
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class JobStatusLog {
+
+    // Entity graph loading the job card with its employee, ticket and generator
+    public static final String WITH_JOB_CARD = "JobStatusLog.withJobCard";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_status_logs_seq")
+    @SequenceGenerator(name = "job_status_logs_seq", sequenceName = "job_status_logs_seq", allocationSize = 50)
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mini_job_card_id", nullable = false)
     private MiniJobCard miniJobCard;
     
@@ -1,5 +1,6 @@
 package com.ems.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,20 +12,36 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "main_tickets")
+@Table(name = "main_tickets", indexes = {
+        @Index(name = "idx_main_tickets_schedule", columnList = "scheduled_date, scheduled_time, id"),
+        @Index(name = "idx_main_tickets_generator_created", columnList = "generator_id, created_at"),
+        @Index(name = "idx_main_tickets_created", columnList = "created_at, id")
+})
+@NamedEntityGraph(name = MainTicket.WITH_GENERATOR, attributeNodes = @NamedAttributeNode("generator"))
+// Referenced lazily by job cards and assignments; proxies serialize without their internals
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class MainTicket {
+
+    // Entity graph loading the generator with the ticket
+    public static final String WITH_GENERATOR = "MainTicket.withGenerator";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "main_tickets_seq")
+    @SequenceGenerator(name = "main_tickets_seq", sequenceName = "main_tickets_seq", allocationSize = 50)
     private Long id;
+
+    // Optimistic lock; existing rows start at 0 when the column is added
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private Long version;
     
     @Column(unique = true, nullable = false)
     private String ticketNumber;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "generator_id", nullable = false)
     private Generator generator;
     
@@ -51,6 +68,27 @@ public class MainTicket {
     @Column(nullable = false)
     private LocalTime scheduledTime;
     
+    // Job card counts per status, from which the ticket status is derived.
+    // Written on insert, then only by atomic UPDATEs in MainTicketRepository.adjustCardCounts,
+    // so a stale ticket entity can never overwrite them.
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private Integer pendingCards = 0;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private Integer travelingCards = 0;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private Integer startedCards = 0;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private Integer onHoldCards = 0;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private Integer completedCards = 0;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private Integer cancelledCards = 0;
+
     @Column(nullable = false)
     private String createdBy;
     
@@ -1,29 +1,51 @@
 package com.ems.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "mini_job_cards")
+@Table(name = "mini_job_cards", indexes = {
+        @Index(name = "idx_mini_job_cards_employee_status", columnList = "employee_id, status, main_ticket_id"),
+        @Index(name = "idx_mini_job_cards_employee_schedule", columnList = "employee_id, scheduled_date, id")
+})
+@NamedEntityGraph(name = MiniJobCard.WITH_TICKET_AND_EMPLOYEE,
+        attributeNodes = {
+                @NamedAttributeNode("employee"),
+                @NamedAttributeNode(value = "mainTicket", subgraph = "ticket")
+        },
+        subgraphs = @NamedSubgraph(name = "ticket", attributeNodes = @NamedAttributeNode("generator")))
+// Referenced lazily by scores and status logs; proxies serialize without their internals
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class MiniJobCard {
+
+    // Entity graph loading the employee, main ticket and generator with the job card
+    public static final String WITH_TICKET_AND_EMPLOYEE = "MiniJobCard.withTicketAndEmployee";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mini_job_cards_seq")
+    @SequenceGenerator(name = "mini_job_cards_seq", sequenceName = "mini_job_cards_seq", allocationSize = 50)
     private Long id;
+
+    // Optimistic lock; existing rows start at 0 when the column is added
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private Long version;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "main_ticket_id", nullable = false)
     private MainTicket mainTicket;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
     private User employee;
     
@@ -38,12 +60,49 @@ public class MiniJobCard {
     @Column(nullable = false)
     private Boolean approved = false;
 
+    // Running minutes per status, added on every status change (workMinutes is time in STARTED)
     private Integer workMinutes = 0;
 
+    private Integer travelMinutes = 0;
+
+    private Integer onHoldMinutes = 0;
+
+    // When the current status was entered
+    private LocalDateTime statusSince;
+
     @Column(columnDefinition = "TEXT")
     private String imageUrl;
     
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
+
+    // Copy of mainTicket.scheduledDate, backs the one-active-card-per-day unique index
+    // (see db/migration/add_single_active_job_card_index.sql) and the employee schedule index
+    private LocalDate scheduledDate;
+
+    public static final String ACTIVE_PER_DAY_INDEX = "uk_mini_job_cards_active_per_day";
+
+    /**
+     * Add the time spent in a status to its running total
+     */
+    public void addStatusMinutes(JobStatus status, int minutes) {
+        if (minutes <= 0) {
+            return;
+        }
+        switch (status) {
+            case STARTED -> workMinutes = (workMinutes != null ? workMinutes : 0) + minutes;
+            case TRAVELING -> travelMinutes = (travelMinutes != null ? travelMinutes : 0) + minutes;
+            case ON_HOLD -> onHoldMinutes = (onHoldMinutes != null ? onHoldMinutes : 0) + minutes;
+            default -> { }
+        }
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void syncScheduledDate() {
+        if (mainTicket != null) {
+            scheduledDate = mainTicket.getScheduledDate();
+        }
+    }
 }
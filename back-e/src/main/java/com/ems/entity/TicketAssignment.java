@@ -10,20 +10,30 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "ticket_assignments")
+@NamedEntityGraph(name = TicketAssignment.WITH_TICKET_AND_EMPLOYEE,
+        attributeNodes = {
+                @NamedAttributeNode("employee"),
+                @NamedAttributeNode(value = "mainTicket", subgraph = "ticket")
+        },
+        subgraphs = @NamedSubgraph(name = "ticket", attributeNodes = @NamedAttributeNode("generator")))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class TicketAssignment {
+
+    // Entity graph loading the employee, main ticket and generator with the assignment
+    public static final String WITH_TICKET_AND_EMPLOYEE = "TicketAssignment.withTicketAndEmployee";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_assignments_seq")
+    @SequenceGenerator(name = "ticket_assignments_seq", sequenceName = "ticket_assignments_seq", allocationSize = 50)
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "main_ticket_id", nullable = false)
     private MainTicket mainTicket;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
     private User employee;
     
@@ -1,5 +1,6 @@
 package com.ems.repository;
 
+import com.ems.dto.ActivityLogRow;
 import com.ems.entity.ActivityLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -37,6 +38,78 @@ public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long>
             Pageable pageable
     );
 
+    // Log list columns with explicit left joins, so a page is one SQL statement
+    // and no log, user, ticket or generator entities are loaded
+    String LOG_ROW_SELECT = "SELECT al.id AS id, " +
+            "e.id AS employeeId, e.fullName AS employeeFullName, e.email AS employeeEmail, " +
+            "p.id AS performerId, p.fullName AS performerFullName, p.email AS performerEmail, " +
+            "al.activityType AS activityType, al.miniJobCard.id AS miniJobCardId, " +
+            "mt.id AS mainTicketId, mt.ticketNumber AS ticketNumber, " +
+            "g.id AS generatorId, g.name AS generatorName, g.locationName AS generatorLocationName, " +
+            "al.oldStatus AS oldStatus, al.newStatus AS newStatus, " +
+            "al.latitude AS latitude, al.longitude AS longitude, al.details AS details, " +
+            "al.timestamp AS timestamp " +
+            "FROM ActivityLog al " +
+            "LEFT JOIN al.employee e " +
+            "LEFT JOIN al.performer p " +
+            "LEFT JOIN al.mainTicket mt " +
+            "LEFT JOIN al.generator g ";
+
+    // Log list rows, newest first
+    @Query(value = LOG_ROW_SELECT + "ORDER BY al.timestamp DESC, al.id DESC",
+            countQuery = "SELECT COUNT(al) FROM ActivityLog al")
+    Page<ActivityLogRow> findAllRows(Pageable pageable);
+
+    // Log list rows for an employee
+    @Query(value = LOG_ROW_SELECT + "WHERE al.employee.id = :employeeId ORDER BY al.timestamp DESC, al.id DESC",
+            countQuery = "SELECT COUNT(al) FROM ActivityLog al WHERE al.employee.id = :employeeId")
+    Page<ActivityLogRow> findRowsByEmployeeId(@Param("employeeId") Long employeeId, Pageable pageable);
+
+    // Log list rows for an employee within a date range
+    @Query(value = LOG_ROW_SELECT + "WHERE al.employee.id = :employeeId AND al.timestamp BETWEEN :startDate AND :endDate " +
+            "ORDER BY al.timestamp DESC, al.id DESC",
+            countQuery = "SELECT COUNT(al) FROM ActivityLog al " +
+                    "WHERE al.employee.id = :employeeId AND al.timestamp BETWEEN :startDate AND :endDate")
+    Page<ActivityLogRow> findRowsByEmployeeIdAndDateRange(
+            @Param("employeeId") Long employeeId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Pageable pageable
+    );
+
+    // Log list rows within a date range
+    @Query(value = LOG_ROW_SELECT + "WHERE al.timestamp BETWEEN :startDate AND :endDate ORDER BY al.timestamp DESC, al.id DESC",
+            countQuery = "SELECT COUNT(al) FROM ActivityLog al WHERE al.timestamp BETWEEN :startDate AND :endDate")
+    Page<ActivityLogRow> findRowsByDateRange(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Pageable pageable
+    );
+
+    // Keyset slice of log list rows at or after :from that sort after (before, id), newest first.
+    // The leading timestamp <= bound lets the index (and partition pruning) seek straight to it
+    @Query(LOG_ROW_SELECT + "WHERE al.timestamp >= :from " +
+            "AND al.timestamp <= :before AND (al.timestamp < :before OR al.id < :id) " +
+            "ORDER BY al.timestamp DESC, al.id DESC")
+    List<ActivityLogRow> findRowsBefore(
+            @Param("from") LocalDateTime from,
+            @Param("before") LocalDateTime before,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    // Keyset slice of log list rows for an employee
+    @Query(LOG_ROW_SELECT + "WHERE al.employee.id = :employeeId AND al.timestamp >= :from " +
+            "AND al.timestamp <= :before AND (al.timestamp < :before OR al.id < :id) " +
+            "ORDER BY al.timestamp DESC, al.id DESC")
+    List<ActivityLogRow> findRowsByEmployeeIdBefore(
+            @Param("employeeId") Long employeeId,
+            @Param("from") LocalDateTime from,
+            @Param("before") LocalDateTime before,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
     // Find logs for a specific mini job card
     List<ActivityLog> findByMiniJobCardIdOrderByTimestampDesc(Long miniJobCardId);
 
@@ -1,17 +1,150 @@
 package com.ems.repository;
 
+import com.ems.dto.GeneratorOTRow;
+import com.ems.dto.OTReportRow;
+import com.ems.dto.TimeTrackingDayRow;
 import com.ems.entity.EmployeeDayAttendance;
 import com.ems.entity.User;
+import com.ems.entity.UserRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeDayAttendanceRepository extends JpaRepository<EmployeeDayAttendance, Long> {
     Optional<EmployeeDayAttendance> findByEmployeeAndDate(User employee, LocalDate date);
+
+    @EntityGraph(EmployeeDayAttendance.WITH_EMPLOYEE)
     List<EmployeeDayAttendance> findByEmployeeAndDateBetween(User employee, LocalDate startDate, LocalDate endDate);
+
+    // Attendance of all users with the role on one day, or in a date range, with the employee loaded
+    @EntityGraph(EmployeeDayAttendance.WITH_EMPLOYEE)
+    List<EmployeeDayAttendance> findByEmployeeRoleAndDateOrderByEmployeeIdAsc(UserRole role, LocalDate date);
+
+    @EntityGraph(EmployeeDayAttendance.WITH_EMPLOYEE)
+    List<EmployeeDayAttendance> findByEmployeeRoleAndDateBetweenOrderByEmployeeIdAscDateAsc(
+            UserRole role, LocalDate startDate, LocalDate endDate);
+
     Optional<EmployeeDayAttendance> findByUniqueKey(String uniqueKey);
+
+    // Work/idle/travel minutes per employee-day in a single statement, summed from the
+    // per-status minutes kept on each job card and attributed to the day the card was started.
+    // When employeeId is null only users with the EMPLOYEE role are included; fromEmployeeId and
+    // toEmployeeId (both null for no limit) restrict the rows to one employee-ID range.
+    String TIME_TRACKING_ROWS_QUERY = "WITH day_totals AS ( " +
+            "    SELECT mjc.employee_id AS employee_id, " +
+            "           CAST(mjc.start_time AS DATE) AS work_date, " +
+            "           SUM(COALESCE(mjc.work_minutes, 0)) AS work_minutes, " +
+            "           SUM(COALESCE(mjc.on_hold_minutes, 0)) AS idle_minutes, " +
+            "           SUM(COALESCE(mjc.travel_minutes, 0)) AS travel_minutes " +
+            "    FROM mini_job_cards mjc " +
+            "    WHERE mjc.start_time >= CAST(:startDate AS DATE) " +
+            "      AND mjc.start_time < CAST(:endDate AS DATE) + 1 " +
+            "      AND (CAST(:employeeId AS BIGINT) IS NULL OR mjc.employee_id = CAST(:employeeId AS BIGINT)) " +
+            "      AND (CAST(:fromEmployeeId AS BIGINT) IS NULL OR mjc.employee_id BETWEEN CAST(:fromEmployeeId AS BIGINT) AND CAST(:toEmployeeId AS BIGINT)) " +
+            "    GROUP BY mjc.employee_id, CAST(mjc.start_time AS DATE) " +
+            ") " +
+            "SELECT u.id AS \"employeeId\", " +
+            "       u.full_name AS \"employeeName\", " +
+            "       a.date AS \"date\", " +
+            "       a.day_start_time AS \"dayStartTime\", " +
+            "       a.day_end_time AS \"dayEndTime\", " +
+            "       CAST(COALESCE(t.work_minutes, 0) AS INTEGER) AS \"workMinutes\", " +
+            "       CAST(COALESCE(t.idle_minutes, 0) AS INTEGER) AS \"idleMinutes\", " +
+            "       CAST(COALESCE(t.travel_minutes, 0) AS INTEGER) AS \"travelMinutes\", " +
+            "       a.total_work_minutes AS \"totalMinutes\" " +
+            "FROM employee_day_attendance a " +
+            "JOIN users u ON u.id = a.employee_id " +
+            "LEFT JOIN day_totals t ON t.employee_id = a.employee_id AND t.work_date = a.date " +
+            "WHERE a.date BETWEEN :startDate AND :endDate " +
+            "  AND ((CAST(:employeeId AS BIGINT) IS NULL AND u.role = 'EMPLOYEE') OR a.employee_id = CAST(:employeeId AS BIGINT)) " +
+            "  AND (CAST(:fromEmployeeId AS BIGINT) IS NULL OR a.employee_id BETWEEN CAST(:fromEmployeeId AS BIGINT) AND CAST(:toEmployeeId AS BIGINT)) " +
+            "ORDER BY u.id, a.date";
+
+    String STREAM_FETCH_SIZE = "500";
+
+    @Query(value = TIME_TRACKING_ROWS_QUERY, nativeQuery = true)
+    List<TimeTrackingDayRow> findTimeTrackingRows(
+            @Param("employeeId") Long employeeId,
+            @Param("fromEmployeeId") Long fromEmployeeId,
+            @Param("toEmployeeId") Long toEmployeeId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // Same rows read through a forward-only cursor for streaming exports (requires a transaction)
+    @Query(value = TIME_TRACKING_ROWS_QUERY, nativeQuery = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<TimeTrackingDayRow> streamTimeTrackingRows(
+            @Param("employeeId") Long employeeId,
+            @Param("fromEmployeeId") Long fromEmployeeId,
+            @Param("toEmployeeId") Long toEmployeeId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // OT rows per employee-day through a forward-only cursor for streaming exports (requires a transaction).
+    // When employeeId is null only users with the EMPLOYEE role are included.
+    @Query("SELECT u.fullName AS employeeName, a.date AS date, " +
+           "a.morningOtMinutes AS morningOtMinutes, a.eveningOtMinutes AS eveningOtMinutes " +
+           "FROM EmployeeDayAttendance a JOIN a.employee u " +
+           "WHERE a.date BETWEEN :startDate AND :endDate " +
+           "AND ((:employeeId IS NULL AND u.role = com.ems.entity.UserRole.EMPLOYEE) OR u.id = :employeeId) " +
+           "ORDER BY u.id, a.date")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<OTReportRow> streamOtRows(
+            @Param("employeeId") Long employeeId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // OT per generator in a single grouped statement, highest total first.
+    // Each attendance day's OT is attributed to the generator of every job card
+    // the employee started that day. Only users with the EMPLOYEE role are included.
+    @Query(value = "SELECT g.id AS \"generatorId\", g.name AS \"generatorName\", " +
+            "       g.location_name AS \"locationName\", " +
+            "       SUM(COALESCE(a.morning_ot_minutes, 0)) AS \"morningOtMinutes\", " +
+            "       SUM(COALESCE(a.evening_ot_minutes, 0)) AS \"eveningOtMinutes\", " +
+            "       SUM(COALESCE(a.morning_ot_minutes, 0) + COALESCE(a.evening_ot_minutes, 0)) AS \"totalOtMinutes\", " +
+            "       COUNT(DISTINCT a.employee_id) AS \"employeeCount\" " +
+            "FROM employee_day_attendance a " +
+            "JOIN users u ON u.id = a.employee_id AND u.role = 'EMPLOYEE' " +
+            "JOIN mini_job_cards mjc ON mjc.employee_id = a.employee_id " +
+            "     AND CAST(mjc.start_time AS DATE) = a.date " +
+            "JOIN main_tickets mt ON mt.id = mjc.main_ticket_id " +
+            "JOIN generators g ON g.id = mt.generator_id " +
+            "WHERE a.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY g.id, g.name, g.location_name " +
+            "ORDER BY \"totalOtMinutes\" DESC, g.id",
+            countQuery = "SELECT COUNT(DISTINCT mt.generator_id) " +
+            "FROM employee_day_attendance a " +
+            "JOIN users u ON u.id = a.employee_id AND u.role = 'EMPLOYEE' " +
+            "JOIN mini_job_cards mjc ON mjc.employee_id = a.employee_id " +
+            "     AND CAST(mjc.start_time AS DATE) = a.date " +
+            "JOIN main_tickets mt ON mt.id = mjc.main_ticket_id " +
+            "WHERE a.date BETWEEN :startDate AND :endDate",
+            nativeQuery = true)
+    Page<GeneratorOTRow> sumOtByGenerator(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable
+    );
 }
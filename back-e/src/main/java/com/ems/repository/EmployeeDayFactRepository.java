@@ -0,0 +1,189 @@
+package com.ems.repository;
+
+import com.ems.dto.EmployeeDayFactTotals;
+import com.ems.entity.EmployeeDayFact;
+import com.ems.entity.UserRole;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface EmployeeDayFactRepository extends JpaRepository<EmployeeDayFact, Long> {
+
+    // Atomically add activity deltas to an employee-day, creating the row if needed
+    @Modifying
+    @Query(value = "INSERT INTO employee_day_facts (employee_id, date, work_minutes, idle_minutes, travel_minutes, " +
+            "    regular_minutes, morning_ot_minutes, evening_ot_minutes, jobs_completed, jobs_approved, score_sum) " +
+            "VALUES (:employeeId, :date, :workMinutes, :idleMinutes, :travelMinutes, 0, 0, 0, " +
+            "    :jobsCompleted, :jobsApproved, :scoreSum) " +
+            "ON CONFLICT (employee_id, date) DO UPDATE SET " +
+            "    work_minutes = employee_day_facts.work_minutes + EXCLUDED.work_minutes, " +
+            "    idle_minutes = employee_day_facts.idle_minutes + EXCLUDED.idle_minutes, " +
+            "    travel_minutes = employee_day_facts.travel_minutes + EXCLUDED.travel_minutes, " +
+            "    jobs_completed = employee_day_facts.jobs_completed + EXCLUDED.jobs_completed, " +
+            "    jobs_approved = employee_day_facts.jobs_approved + EXCLUDED.jobs_approved, " +
+            "    score_sum = employee_day_facts.score_sum + EXCLUDED.score_sum",
+            nativeQuery = true)
+    void addActivity(
+            @Param("employeeId") Long employeeId,
+            @Param("date") LocalDate date,
+            @Param("workMinutes") int workMinutes,
+            @Param("idleMinutes") int idleMinutes,
+            @Param("travelMinutes") int travelMinutes,
+            @Param("jobsCompleted") int jobsCompleted,
+            @Param("jobsApproved") int jobsApproved,
+            @Param("scoreSum") int scoreSum
+    );
+
+    // Set attendance figures for an employee-day, creating the row if needed
+    @Modifying
+    @Query(value = "INSERT INTO employee_day_facts (employee_id, date, work_minutes, idle_minutes, travel_minutes, " +
+            "    regular_minutes, morning_ot_minutes, evening_ot_minutes, jobs_completed, jobs_approved, score_sum) " +
+            "VALUES (:employeeId, :date, 0, 0, 0, :regularMinutes, :morningOtMinutes, :eveningOtMinutes, 0, 0, 0) " +
+            "ON CONFLICT (employee_id, date) DO UPDATE SET " +
+            "    regular_minutes = EXCLUDED.regular_minutes, " +
+            "    morning_ot_minutes = EXCLUDED.morning_ot_minutes, " +
+            "    evening_ot_minutes = EXCLUDED.evening_ot_minutes",
+            nativeQuery = true)
+    void upsertAttendance(
+            @Param("employeeId") Long employeeId,
+            @Param("date") LocalDate date,
+            @Param("regularMinutes") int regularMinutes,
+            @Param("morningOtMinutes") int morningOtMinutes,
+            @Param("eveningOtMinutes") int eveningOtMinutes
+    );
+
+    @Modifying
+    @Query("DELETE FROM EmployeeDayFact f WHERE f.date BETWEEN :startDate AND :endDate")
+    int deleteByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Recompute all facts in the date range from attendance, job card durations and scores
+    // (status minutes by the card's scheduled date, as EmployeeDayFactService.recordStatusSpan does).
+    // A row upserted by a concurrent write after the range was deleted is overwritten, not added to.
+    @Modifying
+    @Query(value = "INSERT INTO employee_day_facts (employee_id, date, work_minutes, idle_minutes, travel_minutes, " +
+            "    regular_minutes, morning_ot_minutes, evening_ot_minutes, jobs_completed, jobs_approved, score_sum) " +
+            "WITH time_totals AS ( " +
+            "    SELECT employee_id, scheduled_date AS date, " +
+            "           SUM(COALESCE(work_minutes, 0)) AS work_minutes, " +
+            "           SUM(COALESCE(on_hold_minutes, 0)) AS idle_minutes, " +
+            "           SUM(COALESCE(travel_minutes, 0)) AS travel_minutes " +
+            "    FROM mini_job_cards " +
+            "    WHERE scheduled_date BETWEEN :startDate AND :endDate " +
+            "      AND COALESCE(work_minutes, 0) + COALESCE(on_hold_minutes, 0) + COALESCE(travel_minutes, 0) > 0 " +
+            "    GROUP BY employee_id, scheduled_date " +
+            "), attendance AS ( " +
+            "    SELECT employee_id, date, total_work_minutes, morning_ot_minutes, evening_ot_minutes " +
+            "    FROM employee_day_attendance " +
+            "    WHERE date BETWEEN :startDate AND :endDate " +
+            "), completions AS ( " +
+            "    SELECT employee_id, CAST(end_time AS DATE) AS date, " +
+            "           COUNT(*) AS jobs_completed, " +
+            "           COUNT(*) FILTER (WHERE approved) AS jobs_approved " +
+            "    FROM mini_job_cards " +
+            "    WHERE status = 'COMPLETED' " +
+            "      AND end_time >= CAST(:startDate AS DATE) " +
+            "      AND end_time < CAST(:endDate AS DATE) + 1 " +
+            "    GROUP BY employee_id, CAST(end_time AS DATE) " +
+            "), scores AS ( " +
+            "    SELECT employee_id, work_date AS date, SUM(weight) AS score_sum " +
+            "    FROM employee_scores " +
+            "    WHERE work_date BETWEEN :startDate AND :endDate " +
+            "    GROUP BY employee_id, work_date " +
+            "), days AS ( " +
+            "    SELECT employee_id, date FROM time_totals " +
+            "    UNION SELECT employee_id, date FROM attendance " +
+            "    UNION SELECT employee_id, date FROM completions " +
+            "    UNION SELECT employee_id, date FROM scores " +
+            ") " +
+            "SELECT d.employee_id, d.date, " +
+            "       CAST(COALESCE(t.work_minutes, 0) AS INTEGER), " +
+            "       CAST(COALESCE(t.idle_minutes, 0) AS INTEGER), " +
+            "       CAST(COALESCE(t.travel_minutes, 0) AS INTEGER), " +
+            "       COALESCE(a.total_work_minutes, 0), " +
+            "       COALESCE(a.morning_ot_minutes, 0), " +
+            "       COALESCE(a.evening_ot_minutes, 0), " +
+            "       CAST(COALESCE(c.jobs_completed, 0) AS INTEGER), " +
+            "       CAST(COALESCE(c.jobs_approved, 0) AS INTEGER), " +
+            "       CAST(COALESCE(s.score_sum, 0) AS INTEGER) " +
+            "FROM days d " +
+            "LEFT JOIN time_totals t ON t.employee_id = d.employee_id AND t.date = d.date " +
+            "LEFT JOIN attendance a ON a.employee_id = d.employee_id AND a.date = d.date " +
+            "LEFT JOIN completions c ON c.employee_id = d.employee_id AND c.date = d.date " +
+            "LEFT JOIN scores s ON s.employee_id = d.employee_id AND s.date = d.date " +
+            "ON CONFLICT (employee_id, date) DO UPDATE SET " +
+            "    work_minutes = EXCLUDED.work_minutes, " +
+            "    idle_minutes = EXCLUDED.idle_minutes, " +
+            "    travel_minutes = EXCLUDED.travel_minutes, " +
+            "    regular_minutes = EXCLUDED.regular_minutes, " +
+            "    morning_ot_minutes = EXCLUDED.morning_ot_minutes, " +
+            "    evening_ot_minutes = EXCLUDED.evening_ot_minutes, " +
+            "    jobs_completed = EXCLUDED.jobs_completed, " +
+            "    jobs_approved = EXCLUDED.jobs_approved, " +
+            "    score_sum = EXCLUDED.score_sum",
+            nativeQuery = true)
+    int rebuildFacts(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Totals over all employees with the given role
+    @Query("SELECT COALESCE(SUM(f.workMinutes), 0) AS workMinutes, " +
+           "COALESCE(SUM(f.idleMinutes), 0) AS idleMinutes, " +
+           "COALESCE(SUM(f.travelMinutes), 0) AS travelMinutes, " +
+           "COALESCE(SUM(f.regularMinutes), 0) AS regularMinutes, " +
+           "COALESCE(SUM(f.morningOtMinutes + f.eveningOtMinutes), 0) AS otMinutes, " +
+           "COALESCE(SUM(f.jobsCompleted), 0) AS jobsCompleted, " +
+           "COALESCE(SUM(f.jobsApproved), 0) AS jobsApproved, " +
+           "COALESCE(SUM(f.scoreSum), 0) AS scoreSum " +
+           "FROM EmployeeDayFact f " +
+           "WHERE f.employee.role = :role AND f.date BETWEEN :startDate AND :endDate")
+    EmployeeDayFactTotals sumTotals(
+            @Param("role") UserRole role,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // Totals over the employees with the given role and IDs fromEmployeeId..toEmployeeId
+    @Query("SELECT COALESCE(SUM(f.workMinutes), 0) AS workMinutes, " +
+           "COALESCE(SUM(f.idleMinutes), 0) AS idleMinutes, " +
+           "COALESCE(SUM(f.travelMinutes), 0) AS travelMinutes, " +
+           "COALESCE(SUM(f.regularMinutes), 0) AS regularMinutes, " +
+           "COALESCE(SUM(f.morningOtMinutes + f.eveningOtMinutes), 0) AS otMinutes, " +
+           "COALESCE(SUM(f.jobsCompleted), 0) AS jobsCompleted, " +
+           "COALESCE(SUM(f.jobsApproved), 0) AS jobsApproved, " +
+           "COALESCE(SUM(f.scoreSum), 0) AS scoreSum " +
+           "FROM EmployeeDayFact f " +
+           "WHERE f.employee.role = :role AND f.employee.id BETWEEN :fromEmployeeId AND :toEmployeeId " +
+           "AND f.date BETWEEN :startDate AND :endDate")
+    EmployeeDayFactTotals sumTotalsForEmployeeRange(
+            @Param("role") UserRole role,
+            @Param("fromEmployeeId") Long fromEmployeeId,
+            @Param("toEmployeeId") Long toEmployeeId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // Totals per employee with IDs fromEmployeeId..toEmployeeId (both null for all employees)
+    @Query("SELECT f.employee.id AS employeeId, " +
+           "SUM(f.workMinutes) AS workMinutes, " +
+           "SUM(f.idleMinutes) AS idleMinutes, " +
+           "SUM(f.travelMinutes) AS travelMinutes, " +
+           "SUM(f.regularMinutes) AS regularMinutes, " +
+           "SUM(f.morningOtMinutes + f.eveningOtMinutes) AS otMinutes, " +
+           "SUM(f.jobsCompleted) AS jobsCompleted, " +
+           "SUM(f.jobsApproved) AS jobsApproved, " +
+           "SUM(f.scoreSum) AS scoreSum " +
+           "FROM EmployeeDayFact f " +
+           "WHERE f.date BETWEEN :startDate AND :endDate " +
+           "AND (:fromEmployeeId IS NULL OR f.employee.id BETWEEN :fromEmployeeId AND :toEmployeeId) " +
+           "GROUP BY f.employee.id")
+    List<EmployeeDayFactTotals> sumTotalsByEmployee(
+            @Param("fromEmployeeId") Long fromEmployeeId,
+            @Param("toEmployeeId") Long toEmployeeId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+}
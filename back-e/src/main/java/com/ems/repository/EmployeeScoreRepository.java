@@ -1,12 +1,14 @@
 package com.ems.repository;
 
 import com.ems.entity.EmployeeScore;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +16,7 @@ import java.util.Optional;
 public interface EmployeeScoreRepository extends JpaRepository<EmployeeScore, Long> {
 
     // Find all scores for an employee
+    @EntityGraph(EmployeeScore.WITH_JOB_CARD)
     List<EmployeeScore> findByEmployeeId(Long employeeId);
 
     // Find all scores for an employee within a date range
@@ -24,15 +27,21 @@ public interface EmployeeScoreRepository extends JpaRepository<EmployeeScore, Lo
     );
 
     // Find score by mini job card ID
+    @EntityGraph(EmployeeScore.WITH_JOB_CARD)
     Optional<EmployeeScore> findByMiniJobCardId(Long miniJobCardId);
 
     // Find scores by main ticket (via miniJobCard relationship)
+    @EntityGraph(EmployeeScore.WITH_JOB_CARD)
     @Query("SELECT es FROM EmployeeScore es WHERE es.miniJobCard.mainTicket.id = :mainTicketId")
     List<EmployeeScore> findByMainTicketId(@Param("mainTicketId") Long mainTicketId);
 
     // Check if a mini job card already has a score
     boolean existsByMiniJobCardId(Long miniJobCardId);
 
+    // Mini job cards among the given ids that already have a score
+    @Query("SELECT es.miniJobCard.id FROM EmployeeScore es WHERE es.miniJobCard.id IN :miniJobCardIds")
+    List<Long> findScoredMiniJobCardIds(@Param("miniJobCardIds") Collection<Long> miniJobCardIds);
+
     // Get total weight (score) for employee in date range
     // Note: weight and score are consolidated - weight IS the score
     @Query("SELECT COALESCE(SUM(es.weight), 0) FROM EmployeeScore es " +
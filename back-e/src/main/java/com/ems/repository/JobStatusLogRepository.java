@@ -1,12 +1,53 @@
 package com.ems.repository;
 
+import com.ems.dto.TimeTrackingLocationRow;
 import com.ems.entity.JobStatusLog;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface JobStatusLogRepository extends JpaRepository<JobStatusLog, Long> {
+    @EntityGraph(JobStatusLog.WITH_JOB_CARD)
     List<JobStatusLog> findByMiniJobCardIdOrderByLoggedAtDesc(Long miniJobCardId);
+
+    Optional<JobStatusLog> findFirstByMiniJobCardIdOrderByLoggedAtDescIdDesc(Long miniJobCardId);
+
+    // Geotagged status logs for job cards started within the date range,
+    // ordered by employee, work day, job card and time for location path assembly.
+    // fromEmployeeId and toEmployeeId (both null for no limit) restrict the logs to one employee-ID range.
+    // Status can only change on the ticket's scheduled day, so a card's logs are never older than
+    // its start day; the logged_at bound lets PostgreSQL skip older log partitions
+    @Query(value = "SELECT mjc.employee_id AS \"employeeId\", " +
+            "       CAST(mjc.start_time AS DATE) AS \"workDate\", " +
+            "       mjc.id AS \"miniJobCardId\", " +
+            "       g.location_name AS \"locationName\", " +
+            "       jsl.latitude AS \"latitude\", " +
+            "       jsl.longitude AS \"longitude\", " +
+            "       jsl.logged_at AS \"loggedAt\" " +
+            "FROM job_status_logs jsl " +
+            "JOIN mini_job_cards mjc ON mjc.id = jsl.mini_job_card_id " +
+            "JOIN main_tickets mt ON mt.id = mjc.main_ticket_id " +
+            "JOIN generators g ON g.id = mt.generator_id " +
+            "WHERE mjc.start_time >= CAST(:startDate AS DATE) " +
+            "  AND mjc.start_time < CAST(:endDate AS DATE) + 1 " +
+            "  AND jsl.logged_at >= CAST(:startDate AS DATE) " +
+            "  AND jsl.latitude IS NOT NULL AND jsl.longitude IS NOT NULL " +
+            "  AND (CAST(:employeeId AS BIGINT) IS NULL OR mjc.employee_id = CAST(:employeeId AS BIGINT)) " +
+            "  AND (CAST(:fromEmployeeId AS BIGINT) IS NULL OR mjc.employee_id BETWEEN CAST(:fromEmployeeId AS BIGINT) AND CAST(:toEmployeeId AS BIGINT)) " +
+            "ORDER BY mjc.employee_id, CAST(mjc.start_time AS DATE), mjc.id, jsl.logged_at, jsl.id",
+            nativeQuery = true)
+    List<TimeTrackingLocationRow> findTimeTrackingLocations(
+            @Param("employeeId") Long employeeId,
+            @Param("fromEmployeeId") Long fromEmployeeId,
+            @Param("toEmployeeId") Long toEmployeeId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
 }
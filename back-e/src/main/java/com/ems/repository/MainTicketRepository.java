@@ -1,17 +1,119 @@
 package com.ems.repository;
 
+import com.ems.dto.TicketCardCounts;
+import com.ems.dto.TicketStatusCount;
 import com.ems.entity.JobStatus;
 import com.ems.entity.MainTicket;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MainTicketRepository extends JpaRepository<MainTicket, Long> {
+
+    // Tickets are returned with their generator, so list and detail reads load it in the same query
+    @Override
+    @EntityGraph(MainTicket.WITH_GENERATOR)
+    Optional<MainTicket> findById(Long id);
+
+    @Override
+    @EntityGraph(MainTicket.WITH_GENERATOR)
+    Page<MainTicket> findAll(Pageable pageable);
+
+    @EntityGraph(MainTicket.WITH_GENERATOR)
     Page<MainTicket> findByStatus(JobStatus status, Pageable pageable);
+
+    @EntityGraph(MainTicket.WITH_GENERATOR)
     Page<MainTicket> findByScheduledDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    @EntityGraph(MainTicket.WITH_GENERATOR)
     Page<MainTicket> findByCreatedBy(String createdBy, Pageable pageable);
+
+    long countByStatus(JobStatus status);
+    long countByScheduledDateBetween(LocalDate startDate, LocalDate endDate);
+    long countByScheduledDateBetweenAndStatus(LocalDate startDate, LocalDate endDate, JobStatus status);
+
+    // Tickets of one generator, paged and sorted in SQL (idx_main_tickets_generator_created)
+    @EntityGraph(MainTicket.WITH_GENERATOR)
+    Page<MainTicket> findByGeneratorId(Long generatorId, Pageable pageable);
+
+    // First slice of all tickets, newest first (idx_main_tickets_created)
+    @Query("SELECT t FROM MainTicket t JOIN FETCH t.generator ORDER BY t.createdAt DESC, t.id DESC")
+    List<MainTicket> findLatestFirst(Pageable pageable);
+
+    // Next slice after (createdAt, id); the leading createdAt <= bound lets the index seek straight to it
+    @Query("SELECT t FROM MainTicket t JOIN FETCH t.generator " +
+           "WHERE t.createdAt <= :createdAt AND (t.createdAt < :createdAt OR t.id < :id) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<MainTicket> findLatestBefore(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    // Ticket counts per status for one generator
+    @Query("SELECT t.status AS status, COUNT(t) AS count FROM MainTicket t " +
+           "WHERE t.generator.id = :generatorId GROUP BY t.status")
+    List<TicketStatusCount> countByStatusForGenerator(@Param("generatorId") Long generatorId);
+
+    // Add deltas to the per-status job card counts in one atomic row update and return the new counts
+    @Query(value = "UPDATE main_tickets SET " +
+                   "pending_cards = pending_cards + :pending, " +
+                   "traveling_cards = traveling_cards + :traveling, " +
+                   "started_cards = started_cards + :started, " +
+                   "on_hold_cards = on_hold_cards + :onHold, " +
+                   "completed_cards = completed_cards + :completed, " +
+                   "cancelled_cards = cancelled_cards + :cancelled " +
+                   "WHERE id = :id " +
+                   "RETURNING pending_cards AS pendingCards, traveling_cards AS travelingCards, " +
+                   "started_cards AS startedCards, on_hold_cards AS onHoldCards, " +
+                   "completed_cards AS completedCards, cancelled_cards AS cancelledCards",
+           nativeQuery = true)
+    TicketCardCounts adjustCardCounts(
+            @Param("id") Long id,
+            @Param("pending") int pending,
+            @Param("traveling") int traveling,
+            @Param("started") int started,
+            @Param("onHold") int onHold,
+            @Param("completed") int completed,
+            @Param("cancelled") int cancelled
+    );
+
+    // Recount the per-status job card counts of tickets whose stored counts disagree with their job cards
+    @Modifying
+    @Query(value = "WITH card_counts AS ( " +
+            "    SELECT t.id AS ticket_id, " +
+            "           COUNT(mjc.id) FILTER (WHERE mjc.status = 'PENDING') AS pending_cards, " +
+            "           COUNT(mjc.id) FILTER (WHERE mjc.status = 'TRAVELING') AS traveling_cards, " +
+            "           COUNT(mjc.id) FILTER (WHERE mjc.status = 'STARTED') AS started_cards, " +
+            "           COUNT(mjc.id) FILTER (WHERE mjc.status = 'ON_HOLD') AS on_hold_cards, " +
+            "           COUNT(mjc.id) FILTER (WHERE mjc.status = 'COMPLETED') AS completed_cards, " +
+            "           COUNT(mjc.id) FILTER (WHERE mjc.status = 'CANCEL') AS cancelled_cards " +
+            "    FROM main_tickets t " +
+            "    LEFT JOIN mini_job_cards mjc ON mjc.main_ticket_id = t.id " +
+            "    GROUP BY t.id " +
+            ") " +
+            "UPDATE main_tickets t " +
+            "SET pending_cards = c.pending_cards, " +
+            "    traveling_cards = c.traveling_cards, " +
+            "    started_cards = c.started_cards, " +
+            "    on_hold_cards = c.on_hold_cards, " +
+            "    completed_cards = c.completed_cards, " +
+            "    cancelled_cards = c.cancelled_cards " +
+            "FROM card_counts c " +
+            "WHERE t.id = c.ticket_id " +
+            "AND (t.pending_cards, t.traveling_cards, t.started_cards, t.on_hold_cards, t.completed_cards, t.cancelled_cards) " +
+            "    IS DISTINCT FROM (c.pending_cards, c.traveling_cards, c.started_cards, c.on_hold_cards, c.completed_cards, c.cancelled_cards)",
+            nativeQuery = true)
+    int recountCardCounts();
 }
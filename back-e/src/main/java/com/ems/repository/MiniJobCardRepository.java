@@ -1,21 +1,87 @@
 package com.ems.repository;
 
+import com.ems.dto.ApprovalStatusCount;
+import com.ems.dto.EmployeeJobCounts;
 import com.ems.entity.JobStatus;
 import com.ems.entity.MiniJobCard;
 import com.ems.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MiniJobCardRepository extends JpaRepository<MiniJobCard, Long> {
+
+    // Single job card with employee, ticket and generator (returned by the job card endpoints)
+    @Override
+    @EntityGraph(MiniJobCard.WITH_TICKET_AND_EMPLOYEE)
+    Optional<MiniJobCard> findById(Long id);
+
+    @EntityGraph(MiniJobCard.WITH_TICKET_AND_EMPLOYEE)
     Page<MiniJobCard> findByEmployee(User employee, Pageable pageable);
+
+    @EntityGraph(MiniJobCard.WITH_TICKET_AND_EMPLOYEE)
     Page<MiniJobCard> findByEmployeeAndStatus(User employee, JobStatus status, Pageable pageable);
+
+    // Employee job cards in schedule order (scheduled date, then time), paged in SQL.
+    // Filters and orders on the card's own scheduled_date so idx_mini_job_cards_employee_schedule
+    // returns the page in date order; only cards sharing a date are sorted by time.
+    @Query(value = "SELECT mjc FROM MiniJobCard mjc JOIN FETCH mjc.mainTicket mt JOIN FETCH mt.generator " +
+                   "WHERE mjc.employee.id = :employeeId " +
+                   "ORDER BY mjc.scheduledDate, mt.scheduledTime, mjc.id",
+           countQuery = "SELECT COUNT(mjc) FROM MiniJobCard mjc WHERE mjc.employee.id = :employeeId")
+    Page<MiniJobCard> findScheduledByEmployee(@Param("employeeId") Long employeeId, Pageable pageable);
+
+    @Query(value = "SELECT mjc FROM MiniJobCard mjc JOIN FETCH mjc.mainTicket mt JOIN FETCH mt.generator " +
+                   "WHERE mjc.employee.id = :employeeId AND mjc.status = :status " +
+                   "ORDER BY mjc.scheduledDate, mt.scheduledTime, mjc.id",
+           countQuery = "SELECT COUNT(mjc) FROM MiniJobCard mjc " +
+                        "WHERE mjc.employee.id = :employeeId AND mjc.status = :status")
+    Page<MiniJobCard> findScheduledByEmployeeAndStatus(
+            @Param("employeeId") Long employeeId,
+            @Param("status") JobStatus status,
+            Pageable pageable
+    );
+
+    // Employee job cards for one scheduled date in time order
+    @Query(value = "SELECT mjc FROM MiniJobCard mjc JOIN FETCH mjc.mainTicket mt JOIN FETCH mt.generator " +
+                   "WHERE mjc.employee.id = :employeeId AND mjc.scheduledDate = :date " +
+                   "ORDER BY mt.scheduledTime, mjc.id",
+           countQuery = "SELECT COUNT(mjc) FROM MiniJobCard mjc " +
+                        "WHERE mjc.employee.id = :employeeId AND mjc.scheduledDate = :date")
+    Page<MiniJobCard> findScheduledByEmployeeAndDate(
+            @Param("employeeId") Long employeeId,
+            @Param("date") LocalDate date,
+            Pageable pageable
+    );
+
+    @Query(value = "SELECT mjc FROM MiniJobCard mjc JOIN FETCH mjc.mainTicket mt JOIN FETCH mt.generator " +
+                   "WHERE mjc.employee.id = :employeeId AND mjc.scheduledDate = :date AND mjc.status = :status " +
+                   "ORDER BY mt.scheduledTime, mjc.id",
+           countQuery = "SELECT COUNT(mjc) FROM MiniJobCard mjc " +
+                        "WHERE mjc.employee.id = :employeeId AND mjc.scheduledDate = :date AND mjc.status = :status")
+    Page<MiniJobCard> findScheduledByEmployeeAndDateAndStatus(
+            @Param("employeeId") Long employeeId,
+            @Param("date") LocalDate date,
+            @Param("status") JobStatus status,
+            Pageable pageable
+    );
+
+    @EntityGraph(MiniJobCard.WITH_TICKET_AND_EMPLOYEE)
     List<MiniJobCard> findByMainTicketId(Long mainTicketId);
+
+    @EntityGraph(MiniJobCard.WITH_TICKET_AND_EMPLOYEE)
     Page<MiniJobCard> findByMainTicketId(Long mainTicketId, Pageable pageable);
 
     long countByEmployeeAndMainTicket_ScheduledDateAndStatus(
@@ -23,4 +89,150 @@ public interface MiniJobCardRepository extends JpaRepository<MiniJobCard, Long>
             LocalDate scheduledDate,
             JobStatus status
     );
+
+    long countByStatusAndApprovedFalse(JobStatus status);
+
+    // Pending approval queue (completed, not approved), newest first.
+    // Served by the partial index idx_mini_job_cards_pending_approval, so cost follows the
+    // size of the queue rather than the whole job card history.
+    @Query(value = "SELECT mjc FROM MiniJobCard mjc JOIN FETCH mjc.employee JOIN FETCH mjc.mainTicket mt " +
+                   "JOIN FETCH mt.generator " +
+                   "WHERE mjc.status = com.ems.entity.JobStatus.COMPLETED AND mjc.approved = false " +
+                   "ORDER BY mjc.endTime DESC, mjc.id DESC",
+           countQuery = "SELECT COUNT(mjc) FROM MiniJobCard mjc " +
+                        "WHERE mjc.status = com.ems.entity.JobStatus.COMPLETED AND mjc.approved = false")
+    Page<MiniJobCard> findPendingApprovals(Pageable pageable);
+
+    // First slice of the pending approval queue for keyset paging
+    @Query("SELECT mjc FROM MiniJobCard mjc JOIN FETCH mjc.employee JOIN FETCH mjc.mainTicket mt " +
+           "JOIN FETCH mt.generator " +
+           "WHERE mjc.status = com.ems.entity.JobStatus.COMPLETED AND mjc.approved = false " +
+           "ORDER BY mjc.endTime DESC, mjc.id DESC")
+    List<MiniJobCard> findPendingApprovalsFirst(Pageable pageable);
+
+    // Next slice after (endTime, id); the leading endTime <= bound lets the index seek straight to it
+    @Query("SELECT mjc FROM MiniJobCard mjc JOIN FETCH mjc.employee JOIN FETCH mjc.mainTicket mt " +
+           "JOIN FETCH mt.generator " +
+           "WHERE mjc.status = com.ems.entity.JobStatus.COMPLETED AND mjc.approved = false " +
+           "AND mjc.endTime <= :endTime AND (mjc.endTime < :endTime OR mjc.id < :id) " +
+           "ORDER BY mjc.endTime DESC, mjc.id DESC")
+    List<MiniJobCard> findPendingApprovalsBefore(
+            @Param("endTime") LocalDateTime endTime,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    // Completed and on-hold job cards counted per status and approval flag
+    @Query("SELECT mjc.status AS status, mjc.approved AS approved, COUNT(mjc) AS count FROM MiniJobCard mjc " +
+           "WHERE mjc.status IN (com.ems.entity.JobStatus.COMPLETED, com.ems.entity.JobStatus.ON_HOLD) " +
+           "GROUP BY mjc.status, mjc.approved")
+    List<ApprovalStatusCount> countApprovalStatuses();
+
+    // Total and completed job cards and their work minutes per employee, by creation time,
+    // for the employees with IDs fromEmployeeId..toEmployeeId (both null for all employees)
+    @Query("SELECT mjc.employee.id AS employeeId, " +
+           "COUNT(mjc) AS totalJobs, " +
+           "SUM(CASE WHEN mjc.status = com.ems.entity.JobStatus.COMPLETED THEN 1 ELSE 0 END) AS completedJobs, " +
+           "SUM(COALESCE(mjc.workMinutes, 0)) AS workMinutes " +
+           "FROM MiniJobCard mjc " +
+           "WHERE mjc.createdAt >= :from AND mjc.createdAt < :to " +
+           "AND (:fromEmployeeId IS NULL OR mjc.employee.id BETWEEN :fromEmployeeId AND :toEmployeeId) " +
+           "GROUP BY mjc.employee.id")
+    List<EmployeeJobCounts> countJobsByEmployeeCreatedBetween(
+            @Param("fromEmployeeId") Long fromEmployeeId,
+            @Param("toEmployeeId") Long toEmployeeId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // Job cards of an employee that ended in [from, to), with ticket and generator fetched
+    @Query("SELECT mjc FROM MiniJobCard mjc " +
+           "JOIN FETCH mjc.mainTicket mt JOIN FETCH mt.generator " +
+           "WHERE mjc.employee.id = :employeeId AND mjc.endTime >= :from AND mjc.endTime < :to " +
+           "ORDER BY mjc.id")
+    List<MiniJobCard> findEndedByEmployeeBetween(
+            @Param("employeeId") Long employeeId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // Whether the employee has another job card in one of the statuses on the scheduled date.
+    // Existence probe (LIMIT 1) on the card's own scheduled_date, the column the
+    // one-active-card-per-day index is built on, so no join to main_tickets is needed
+    boolean existsByEmployeeIdAndScheduledDateAndStatusInAndIdNot(
+            Long employeeId,
+            LocalDate scheduledDate,
+            Collection<JobStatus> statuses,
+            Long excludeId
+    );
+
+    // Approved, completed job cards with an end time but no score, with employee and ticket for score backfill
+    @EntityGraph(MiniJobCard.WITH_TICKET_AND_EMPLOYEE)
+    @Query("SELECT mjc FROM MiniJobCard mjc " +
+           "WHERE mjc.approved = true AND mjc.status = com.ems.entity.JobStatus.COMPLETED " +
+           "AND mjc.endTime IS NOT NULL " +
+           "AND NOT EXISTS (SELECT 1 FROM EmployeeScore es WHERE es.miniJobCard.id = mjc.id)")
+    List<MiniJobCard> findApprovedCompletedWithoutScore();
+
+    // Job cards with employee, ticket and generator loaded in one query
+    @Query("SELECT mjc FROM MiniJobCard mjc JOIN FETCH mjc.employee JOIN FETCH mjc.mainTicket mt " +
+           "JOIN FETCH mt.generator WHERE mjc.id IN :ids")
+    List<MiniJobCard> findAllWithTicketByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Completed, unapproved job cards ended in a time range, optionally for one employee
+    @Query("SELECT mjc.id FROM MiniJobCard mjc " +
+           "WHERE mjc.status = com.ems.entity.JobStatus.COMPLETED AND mjc.approved = false " +
+           "AND (:employeeId IS NULL OR mjc.employee.id = :employeeId) " +
+           "AND mjc.endTime >= :from AND mjc.endTime < :to " +
+           "ORDER BY mjc.endTime, mjc.id")
+    List<Long> findPendingApprovalIds(
+            @Param("employeeId") Long employeeId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Pageable pageable
+    );
+
+    // Approve completed job cards in one statement, returning only the rows this call changed
+    // so cards approved concurrently are never counted twice; bumps the optimistic lock version
+    @Query(value = "UPDATE mini_job_cards SET approved = true, version = version + 1 " +
+                   "WHERE id IN (:ids) AND status = 'COMPLETED' AND approved = false " +
+                   "RETURNING id",
+           nativeQuery = true)
+    List<Long> approveCompleted(@Param("ids") Collection<Long> ids);
+
+    // Keep the denormalized scheduled date in step when a ticket is rescheduled
+    @Modifying
+    @Query("UPDATE MiniJobCard mjc SET mjc.scheduledDate = :date, mjc.version = mjc.version + 1 " +
+           "WHERE mjc.mainTicket.id = :mainTicketId")
+    int updateScheduledDateByMainTicketId(@Param("mainTicketId") Long mainTicketId, @Param("date") LocalDate date);
+
+    // Populate per-status minutes and status_since from the status logs for cards that predate them.
+    // Each log spans until the next log of the same card; the last log is the current status.
+    @Modifying
+    @Query(value = "WITH status_spans AS ( " +
+            "    SELECT jsl.mini_job_card_id AS card_id, " +
+            "           jsl.new_status AS status, " +
+            "           jsl.logged_at AS span_start, " +
+            "           LEAD(jsl.logged_at) OVER (PARTITION BY jsl.mini_job_card_id ORDER BY jsl.logged_at, jsl.id) AS span_end " +
+            "    FROM job_status_logs jsl " +
+            "    JOIN mini_job_cards mjc ON mjc.id = jsl.mini_job_card_id " +
+            "    WHERE mjc.status_since IS NULL " +
+            "), card_totals AS ( " +
+            "    SELECT card_id, " +
+            "           SUM(CASE WHEN status = 'STARTED' AND span_end IS NOT NULL THEN FLOOR(EXTRACT(EPOCH FROM (span_end - span_start)) / 60) ELSE 0 END) AS work_minutes, " +
+            "           SUM(CASE WHEN status = 'TRAVELING' AND span_end IS NOT NULL THEN FLOOR(EXTRACT(EPOCH FROM (span_end - span_start)) / 60) ELSE 0 END) AS travel_minutes, " +
+            "           SUM(CASE WHEN status = 'ON_HOLD' AND span_end IS NOT NULL THEN FLOOR(EXTRACT(EPOCH FROM (span_end - span_start)) / 60) ELSE 0 END) AS on_hold_minutes, " +
+            "           MAX(span_start) AS status_since " +
+            "    FROM status_spans " +
+            "    GROUP BY card_id " +
+            ") " +
+            "UPDATE mini_job_cards mjc " +
+            "SET work_minutes = CAST(t.work_minutes AS INTEGER), " +
+            "    travel_minutes = CAST(t.travel_minutes AS INTEGER), " +
+            "    on_hold_minutes = CAST(t.on_hold_minutes AS INTEGER), " +
+            "    status_since = t.status_since " +
+            "FROM card_totals t " +
+            "WHERE mjc.id = t.card_id",
+            nativeQuery = true)
+    int backfillStatusDurations();
 }
@@ -2,6 +2,7 @@ package com.ems.repository;
 
 import com.ems.entity.PasswordResetToken;
 import com.ems.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -13,6 +14,7 @@ import java.util.Optional;
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
 
+    @EntityGraph(attributePaths = "user")
     Optional<PasswordResetToken> findByToken(String token);
 
     Optional<PasswordResetToken> findByUserAndUsedFalseAndExpiryDateAfter(User user, LocalDateTime currentDate);
@@ -1,6 +1,7 @@
 package com.ems.repository;
 
 import com.ems.entity.TicketAssignment;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,6 +9,9 @@ import java.util.List;
 
 @Repository
 public interface TicketAssignmentRepository extends JpaRepository<TicketAssignment, Long> {
+    @EntityGraph(TicketAssignment.WITH_TICKET_AND_EMPLOYEE)
     List<TicketAssignment> findByMainTicketId(Long mainTicketId);
+
+    @EntityGraph(TicketAssignment.WITH_TICKET_AND_EMPLOYEE)
     List<TicketAssignment> findByEmployeeId(Long employeeId);
 }
@@ -5,8 +5,12 @@ import com.ems.entity.UserRole;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,4 +22,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     Page<User> findByRole(UserRole role, Pageable pageable);
     Page<User> findByRoleAndActive(UserRole role, Boolean active, Pageable pageable);
+    long countByRole(UserRole role);
+    long countByRoleAndActive(UserRole role, Boolean active);
+
+    // Users with the role in ID order, all or those with IDs from..to (inclusive)
+    List<User> findByRoleOrderByIdAsc(UserRole role);
+    List<User> findByRoleAndIdBetweenOrderByIdAsc(UserRole role, Long fromId, Long toId);
+
+    // IDs of users with the role in ascending order, for splitting reports into ID ranges
+    @Query("SELECT u.id FROM User u WHERE u.role = :role ORDER BY u.id")
+    List<Long> findIdsByRole(@Param("role") UserRole role);
+
+    // First slice of all users, newest first (idx_users_created)
+    @Query("SELECT u FROM User u ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findLatestFirst(Pageable pageable);
+
+    // Next slice after (createdAt, id)
+    @Query("SELECT u FROM User u " +
+           "WHERE u.createdAt <= :createdAt AND (u.createdAt < :createdAt OR u.id < :id) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findLatestBefore(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
 }
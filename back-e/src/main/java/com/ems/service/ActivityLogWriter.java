@@ -0,0 +1,297 @@
+package com.ems.service;
+
+import com.ems.entity.ActivityLog;
+import com.ems.repository.ActivityLogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes activity logs in the background
+ *
+ * Log entries go into a bounded in-memory buffer once the caller's transaction commits (so
+ * rolled back or retried requests never leave audit entries behind) and a single writer thread
+ * inserts them as JDBC batches, every batch-size entries or flush-interval-ms, whichever comes
+ * first. When the buffer is full the caller waits up to enqueue-timeout-ms for space and then
+ * writes the entry itself, so entries are never dropped. On shutdown the writer drains the buffer
+ * before the application context closes. Entries are kept in memory only, so a crash can lose
+ * entries that were still buffered.
+ *
+ * Queue depth and flush latency are served by GET /api/admin/logs/writer/stats and summarized
+ * in the application log every metrics-interval-ms while entries are being written.
+ */
+@Component
+@Slf4j
+public class ActivityLogWriter {
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.logs.async.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.logs.async.buffer-capacity:10000}")
+    private int bufferCapacity;
+
+    @Value("${app.logs.async.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.logs.async.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${app.logs.async.enqueue-timeout-ms:1000}")
+    private long enqueueTimeoutMs;
+
+    @Value("${app.logs.async.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<ActivityLog> buffer;
+    private TransactionTemplate writeTransaction;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder writtenByCaller = new LongAdder();
+    private final LongAdder blockedEnqueues = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder totalFlushMillis = new LongAdder();
+    private final AtomicLong maxFlushMillis = new AtomicLong();
+    private volatile long lastFlushMillis;
+    private volatile int lastBatchSize;
+
+    // Totals at the last metrics log line, so each line covers one interval
+    private final AtomicLong intervalMaxFlushMillis = new AtomicLong();
+    private long loggedEnqueued;
+    private long loggedWritten;
+    private long loggedFailed;
+    private long loggedWrittenByCaller;
+    private long loggedBlockedEnqueues;
+    private long loggedFlushes;
+    private long loggedFlushMillis;
+
+    @PostConstruct
+    public void start() {
+        buffer = new ArrayBlockingQueue<>(bufferCapacity);
+
+        // Own transaction even when called from afterCommit of a request transaction
+        writeTransaction = new TransactionTemplate(transactionManager);
+        writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        if (enabled) {
+            running = true;
+            writerThread = new Thread(this::runWriter, "activity-log-writer");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        writerThread.join(shutdownTimeoutMs);
+        if (writerThread.isAlive()) {
+            log.warn("Activity log writer did not drain within {} ms, {} entries not written",
+                    shutdownTimeoutMs, buffer.size());
+            writerThread.interrupt();
+        } else {
+            log.info("Activity log writer drained and stopped");
+        }
+    }
+
+    /**
+     * Queue a log entry for writing once the current transaction (if any) commits
+     */
+    public void write(ActivityLog activityLog) {
+        if (activityLog.getTimestamp() == null) {
+            // Record the time of the activity, not of the background insert
+            activityLog.setTimestamp(LocalDateTime.now());
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(activityLog);
+                }
+            });
+        } else {
+            enqueue(activityLog);
+        }
+    }
+
+    /**
+     * Writer metrics: buffer depth, throughput and flush latency
+     */
+    public Map<String, Object> getStatistics() {
+        long flushCount = flushes.sum();
+        return Map.ofEntries(
+                Map.entry("enabled", enabled),
+                Map.entry("queueDepth", buffer.size()),
+                Map.entry("bufferCapacity", bufferCapacity),
+                Map.entry("enqueued", enqueued.sum()),
+                Map.entry("written", written.sum()),
+                Map.entry("failed", failed.sum()),
+                Map.entry("writtenByCaller", writtenByCaller.sum()),
+                Map.entry("blockedEnqueues", blockedEnqueues.sum()),
+                Map.entry("flushes", flushCount),
+                Map.entry("lastBatchSize", lastBatchSize),
+                Map.entry("lastFlushMillis", lastFlushMillis),
+                Map.entry("averageFlushMillis", flushCount > 0 ? (double) totalFlushMillis.sum() / flushCount : 0.0),
+                Map.entry("maxFlushMillis", maxFlushMillis.get()));
+    }
+
+    /**
+     * Log the writer metrics for the interval since the last call (nothing when idle)
+     */
+    @Scheduled(fixedDelayString = "${app.logs.async.metrics-interval-ms:60000}",
+            initialDelayString = "${app.logs.async.metrics-interval-ms:60000}")
+    public synchronized void logStatistics() {
+        long enqueuedNow = enqueued.sum();
+        long writtenNow = written.sum();
+        long failedNow = failed.sum();
+        long writtenByCallerNow = writtenByCaller.sum();
+        long blockedNow = blockedEnqueues.sum();
+        long flushesNow = flushes.sum();
+        long flushMillisNow = totalFlushMillis.sum();
+        long maxMillis = intervalMaxFlushMillis.getAndSet(0);
+
+        long intervalFlushes = flushesNow - loggedFlushes;
+        if (enqueuedNow != loggedEnqueued || intervalFlushes > 0) {
+            double averageMillis = intervalFlushes > 0
+                    ? (double) (flushMillisNow - loggedFlushMillis) / intervalFlushes : 0.0;
+            long blocked = blockedNow - loggedBlockedEnqueues;
+            long byCaller = writtenByCallerNow - loggedWrittenByCaller;
+            long failures = failedNow - loggedFailed;
+            String message = "Activity log writer: {} enqueued, {} written in {} flushes "
+                    + "(avg {} ms, max {} ms), queue depth {}/{}, {} blocked, {} written by caller, {} failed";
+            Object[] args = {enqueuedNow - loggedEnqueued, writtenNow - loggedWritten, intervalFlushes,
+                    String.format("%.1f", averageMillis), maxMillis, buffer.size(), bufferCapacity,
+                    blocked, byCaller, failures};
+            if (enabled && (blocked > 0 || byCaller > 0) || failures > 0) {
+                log.warn(message, args);
+            } else {
+                log.info(message, args);
+            }
+        }
+
+        loggedEnqueued = enqueuedNow;
+        loggedWritten = writtenNow;
+        loggedFailed = failedNow;
+        loggedWrittenByCaller = writtenByCallerNow;
+        loggedBlockedEnqueues = blockedNow;
+        loggedFlushes = flushesNow;
+        loggedFlushMillis = flushMillisNow;
+    }
+
+    private void enqueue(ActivityLog activityLog) {
+        enqueued.increment();
+        if (running) {
+            if (buffer.offer(activityLog)) {
+                return;
+            }
+            // Buffer full: hold the caller until the writer catches up
+            blockedEnqueues.increment();
+            try {
+                if (buffer.offer(activityLog, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Writer disabled, stopping or still behind: write on the caller's thread
+        writtenByCaller.increment();
+        flush(List.of(activityLog));
+    }
+
+    private void runWriter() {
+        List<ActivityLog> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    ActivityLog next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    buffer.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // Interrupted after the shutdown timeout: stop without draining
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    private void flush(List<ActivityLog> batch) {
+        long start = System.nanoTime();
+        try {
+            writeTransaction.executeWithoutResult(status -> activityLogRepository.saveAll(batch));
+            written.add(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Activity log batch of {} failed, writing entries one by one: {}", batch.size(), e.getMessage());
+            for (ActivityLog activityLog : batch) {
+                writeSingle(activityLog);
+            }
+        }
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        flushes.increment();
+        totalFlushMillis.add(millis);
+        maxFlushMillis.accumulateAndGet(millis, Math::max);
+        intervalMaxFlushMillis.accumulateAndGet(millis, Math::max);
+        lastFlushMillis = millis;
+        lastBatchSize = batch.size();
+    }
+
+    private void writeSingle(ActivityLog activityLog) {
+        // The failed batch may have assigned an ID that was rolled back
+        activityLog.setId(null);
+        try {
+            writeTransaction.executeWithoutResult(status -> activityLogRepository.save(activityLog));
+            written.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Failed to write activity log {} for employee {}: {}", activityLog.getActivityType(),
+                    activityLog.getEmployee() != null ? activityLog.getEmployee().getId() : null, e.getMessage());
+        }
+    }
+}
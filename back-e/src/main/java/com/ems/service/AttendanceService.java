@@ -9,6 +9,7 @@ import com.ems.repository.EmployeeDayAttendanceRepository;
 import com.ems.repository.MiniJobCardRepository;
 import com.ems.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -39,10 +40,23 @@ public class AttendanceService {
     @Autowired
     private TimeZoneConfig timeZoneConfig;
 
+    @Autowired
+    private EmployeeDayFactService employeeDayFactService;
+
+    @Autowired
+    private OptimisticRetryExecutor optimisticRetryExecutor;
+
     private static final LocalTime MORNING_OT_CUTOFF = LocalTime.of(8, 30);
     private static final LocalTime EVENING_OT_CUTOFF = LocalTime.of(17, 30);
     
+    /**
+     * Start the employee's workday. Runs in one transaction, retried on a concurrent update.
+     */
     public EmployeeDayAttendance startDay(String username) {
+        return optimisticRetryExecutor.execute("Day start", () -> applyDayStart(username));
+    }
+
+    private EmployeeDayAttendance applyDayStart(String username) {
         User employee = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
         
@@ -68,7 +82,14 @@ public class AttendanceService {
             attendance.setMorningOtMinutes((int) morningOtMinutes);
         }
 
-        EmployeeDayAttendance saved = attendanceRepository.save(attendance);
+        EmployeeDayAttendance saved;
+        try {
+            // Flush now so a concurrent start of the same day hits the unique key here
+            saved = attendanceRepository.saveAndFlush(attendance);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Day already started");
+        }
+        employeeDayFactService.recordAttendance(saved);
 
         // Log day start activity
         logService.logDayStart(employee, null, null);
@@ -76,7 +97,15 @@ public class AttendanceService {
         return saved;
     }
     
+    /**
+     * End the employee's workday. Runs in one transaction; on a concurrent update of the
+     * attendance record it is re-read and re-validated before it is retried.
+     */
     public EmployeeDayAttendance endDay(String username) {
+        return optimisticRetryExecutor.execute("Day end", () -> applyDayEnd(username));
+    }
+
+    private EmployeeDayAttendance applyDayEnd(String username) {
         User employee = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
 
@@ -135,6 +164,7 @@ public class AttendanceService {
         }
 
         EmployeeDayAttendance saved = attendanceRepository.save(attendance);
+        employeeDayFactService.recordAttendance(saved);
 
         // Log day end activity
         logService.logDayEnd(employee, null, null);
@@ -0,0 +1,209 @@
+package com.ems.service;
+
+import com.ems.config.TimeZoneConfig;
+import com.ems.dto.BulkApprovalFilterRequest;
+import com.ems.dto.BulkApprovalResult;
+import com.ems.dto.BulkApprovalResult.ItemResult;
+import com.ems.dto.BulkApprovalResult.Outcome;
+import com.ems.entity.*;
+import com.ems.repository.EmployeeScoreRepository;
+import com.ems.repository.MiniJobCardRepository;
+import com.ems.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk approval of completed mini job cards
+ *
+ * Works on the whole set at once: the cards are loaded with their employee, ticket and generator
+ * in one query, approved with one UPDATE, and their scores and activity logs are written as
+ * batched inserts. Each affected main ticket has its status re-derived once, and employee-day
+ * facts are adjusted once per employee and day.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkApprovalService {
+
+    private final MiniJobCardRepository miniJobCardRepository;
+    private final EmployeeScoreRepository employeeScoreRepository;
+    private final UserRepository userRepository;
+    private final TicketService ticketService;
+    private final LogService logService;
+    private final EmployeeDayFactService employeeDayFactService;
+    private final DashboardCounterService dashboardCounterService;
+    private final TimeZoneConfig timeZoneConfig;
+
+    @Value("${app.approvals.bulk.max-cards:1000}")
+    private int maxCards;
+
+    /**
+     * Approve the given job cards
+     *
+     * @param ids Mini job card IDs (duplicates are ignored)
+     * @param approvedBy Username of the approving admin
+     * @return Per-id outcome in request order
+     */
+    @Transactional
+    public BulkApprovalResult approve(Collection<Long> ids, String approvedBy) {
+        if (ids == null || ids.isEmpty()) {
+            throw new RuntimeException("No job cards selected for approval");
+        }
+        List<Long> requested = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (requested.size() > maxCards) {
+            throw new RuntimeException("Cannot approve more than " + maxCards + " job cards at once");
+        }
+        return approveIds(requested, approvedBy);
+    }
+
+    /**
+     * Approve all completed, unapproved job cards that ended in the date range,
+     * optionally for a single employee. At most max-cards are approved per call,
+     * oldest first; call again to continue with the rest.
+     *
+     * @param request Employee and date range
+     * @param approvedBy Username of the approving admin
+     * @return Per-id outcome of the matched job cards
+     */
+    @Transactional
+    public BulkApprovalResult approveByFilter(BulkApprovalFilterRequest request, String approvedBy) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        List<Long> ids = miniJobCardRepository.findPendingApprovalIds(
+                request.getEmployeeId(),
+                request.getStartDate().atStartOfDay(),
+                request.getEndDate().plusDays(1).atStartOfDay(),
+                PageRequest.of(0, maxCards));
+        return approveIds(ids, approvedBy);
+    }
+
+    private BulkApprovalResult approveIds(List<Long> ids, String approvedBy) {
+        if (ids.isEmpty()) {
+            return BulkApprovalResult.builder().results(List.of()).build();
+        }
+
+        Map<Long, MiniJobCard> cardsById = miniJobCardRepository.findAllWithTicketByIdIn(ids).stream()
+                .collect(Collectors.toMap(MiniJobCard::getId, Function.identity()));
+
+        List<Long> eligibleIds = ids.stream()
+                .filter(id -> {
+                    MiniJobCard card = cardsById.get(id);
+                    return card != null && card.getStatus() == JobStatus.COMPLETED && !card.getApproved();
+                })
+                .collect(Collectors.toList());
+
+        // Only rows changed by this UPDATE count as approved here; a concurrent approval of the
+        // same card makes it drop out of the returned ids instead of being processed twice
+        Set<Long> approvedIds = eligibleIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(miniJobCardRepository.approveCompleted(eligibleIds));
+
+        List<ItemResult> results = new ArrayList<>(ids.size());
+        List<MiniJobCard> approvedCards = new ArrayList<>(approvedIds.size());
+        for (Long id : ids) {
+            MiniJobCard card = cardsById.get(id);
+            if (card == null) {
+                results.add(item(id, Outcome.NOT_FOUND, "Mini job card not found"));
+            } else if (approvedIds.contains(id)) {
+                approvedCards.add(card);
+                results.add(item(id, Outcome.APPROVED, "Approved"));
+            } else if (card.getStatus() != JobStatus.COMPLETED) {
+                results.add(item(id, Outcome.NOT_COMPLETED, "Can only approve completed job cards"));
+            } else {
+                results.add(item(id, Outcome.ALREADY_APPROVED, "Job card is already approved"));
+            }
+        }
+
+        int scoresCreated = 0;
+        if (!approvedCards.isEmpty()) {
+            User approver = userRepository.findByUsername(approvedBy).orElse(null);
+
+            recordApprovedFacts(approvedCards);
+            scoresCreated = createScores(approvedCards, approvedBy);
+            logService.logJobApprovals(approver, approvedCards);
+            ticketService.refreshMainTicketStatuses(approvedCards.stream()
+                    .map(MiniJobCard::getMainTicket)
+                    .collect(Collectors.toCollection(LinkedHashSet::new)));
+            dashboardCounterService.recordBulkApproval(approvedCards.size());
+        }
+
+        log.info("Bulk approval by {}: {} of {} job cards approved, {} scores created",
+                approvedBy, approvedCards.size(), ids.size(), scoresCreated);
+
+        return BulkApprovalResult.builder()
+                .requestedCount(ids.size())
+                .approvedCount(approvedCards.size())
+                .skippedCount(ids.size() - approvedCards.size())
+                .scoresCreated(scoresCreated)
+                .results(results)
+                .build();
+    }
+
+    private void recordApprovedFacts(List<MiniJobCard> approvedCards) {
+        Map<EmployeeDay, Integer> approvalsByDay = new HashMap<>();
+        for (MiniJobCard card : approvedCards) {
+            if (card.getEndTime() != null) {
+                approvalsByDay.merge(new EmployeeDay(card.getEmployee().getId(), card.getEndTime().toLocalDate()),
+                        1, Integer::sum);
+            }
+        }
+        approvalsByDay.forEach((day, count) ->
+                employeeDayFactService.recordJobsApproved(day.employeeId(), day.date(), count));
+    }
+
+    /**
+     * Create the EmployeeScore for each approved card that has an end time and no score yet
+     *
+     * @return Number of scores created
+     */
+    private int createScores(List<MiniJobCard> approvedCards, String approvedBy) {
+        Set<Long> scoredIds = new HashSet<>(employeeScoreRepository.findScoredMiniJobCardIds(
+                approvedCards.stream().map(MiniJobCard::getId).collect(Collectors.toList())));
+        LocalDateTime approvedAt = LocalDateTime.now(timeZoneConfig.getZoneId());
+
+        List<EmployeeScore> scores = new ArrayList<>();
+        Map<EmployeeDay, Integer> weightByDay = new HashMap<>();
+        for (MiniJobCard card : approvedCards) {
+            if (scoredIds.contains(card.getId()) || card.getEndTime() == null) {
+                continue;
+            }
+            EmployeeScore score = new EmployeeScore();
+            score.setEmployee(card.getEmployee());
+            score.setMiniJobCard(card);
+            score.setWorkDate(card.getEndTime().toLocalDate());
+            score.setWeight(card.getMainTicket().getWeight());
+            score.setApprovedBy(approvedBy);
+            score.setApprovedAt(approvedAt);
+            scores.add(score);
+            weightByDay.merge(new EmployeeDay(card.getEmployee().getId(), score.getWorkDate()),
+                    score.getWeight(), Integer::sum);
+        }
+
+        employeeScoreRepository.saveAll(scores);
+        weightByDay.forEach((day, weight) ->
+                employeeDayFactService.recordScoreChange(day.employeeId(), day.date(), weight));
+        return scores.size();
+    }
+
+    private static ItemResult item(Long id, Outcome outcome, String message) {
+        return ItemResult.builder()
+                .miniJobCardId(id)
+                .outcome(outcome)
+                .message(message)
+                .build();
+    }
+
+    private record EmployeeDay(Long employeeId, LocalDate date) {
+    }
+}
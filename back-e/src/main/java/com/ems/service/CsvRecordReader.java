@@ -0,0 +1,108 @@
+package com.ems.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV records as defined by RFC 4180
+ *
+ * Fields are separated by commas and records by CRLF, LF or CR. A double-quoted field may
+ * contain commas, line breaks and "" escapes, so one record can span several physical lines;
+ * line breaks inside a field are returned as LF. The physical line each record starts on is
+ * kept so errors can point at the line a user sees in a text editor.
+ */
+class CsvRecordReader {
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private int pushedBack = NONE;
+    private int line = 1;
+    private int recordLine;
+
+    CsvRecordReader(Reader reader) throws IOException {
+        this.reader = reader;
+        int first = reader.read();
+        if (first != '\uFEFF') {
+            pushedBack = first;
+        }
+    }
+
+    /**
+     * Read the next record
+     *
+     * @return Fields of the record, or null at the end of the input
+     * @throws RuntimeException if a quoted field is not closed before the end of the input
+     */
+    List<String> next() throws IOException {
+        recordLine = line;
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new RuntimeException("Quoted field is not closed before the end of the file");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Physical line (1-based) the record last read by next() starts on
+     */
+    int getRecordLine() {
+        return recordLine;
+    }
+
+    // Next character with CRLF and CR folded into LF, counting lines
+    private int read() throws IOException {
+        int c;
+        if (pushedBack != NONE) {
+            c = pushedBack;
+            pushedBack = NONE;
+        } else {
+            c = reader.read();
+        }
+
+        if (c == '\r') {
+            int next = reader.read();
+            if (next != '\n') {
+                pushedBack = next;
+            }
+            c = '\n';
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+}
@@ -0,0 +1,244 @@
+package com.ems.service;
+
+import com.ems.config.TimeZoneConfig;
+import com.ems.dto.EmployeeDayFactTotals;
+import com.ems.entity.*;
+import com.ems.repository.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters for the admin dashboard
+ *
+ * Counters are adjusted from Hibernate post-commit events for tickets, job cards, generators,
+ * users and attendance, so every write path that goes through JPA keeps them current without
+ * querying the database, and rolled back transactions never touch them. Bulk JPQL/SQL updates
+ * bypass these events, so the counters are periodically reconciled against the database.
+ */
+@Service
+@Slf4j
+public class DashboardCounterService implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MainTicketRepository mainTicketRepository;
+
+    @Autowired
+    private MiniJobCardRepository miniJobCardRepository;
+
+    @Autowired
+    private GeneratorRepository generatorRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmployeeDayFactRepository employeeDayFactRepository;
+
+    @Autowired
+    private TimeZoneConfig timeZoneConfig;
+
+    private final Map<JobStatus, LongAdder> ticketsByStatus = new EnumMap<>(JobStatus.class);
+    private final LongAdder pendingApprovals = new LongAdder();
+    private final LongAdder generators = new LongAdder();
+    private final LongAdder employees = new LongAdder();
+    private final LongAdder activeEmployees = new LongAdder();
+    private final LongAdder monthWorkMinutes = new LongAdder();
+    private final LongAdder monthOtMinutes = new LongAdder();
+
+    private volatile YearMonth countedMonth;
+    private volatile boolean initialized;
+
+    @PostConstruct
+    public void registerListeners() {
+        for (JobStatus status : JobStatus.values()) {
+            ticketsByStatus.put(status, new LongAdder());
+        }
+
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * Current dashboard counters
+     */
+    public Map<String, Object> getDashboardStatistics() {
+        if (!initialized || !YearMonth.now(timeZoneConfig.getZoneId()).equals(countedMonth)) {
+            reconcile();
+        }
+
+        long totalTickets = 0;
+        for (LongAdder count : ticketsByStatus.values()) {
+            totalTickets += count.sum();
+        }
+
+        return Map.of(
+                "totalEmployees", employees.sum(),
+                "activeEmployees", activeEmployees.sum(),
+                "totalGenerators", generators.sum(),
+                "totalTickets", totalTickets,
+                "pendingTickets", ticketsByStatus.get(JobStatus.PENDING).sum(),
+                "completedTickets", ticketsByStatus.get(JobStatus.COMPLETED).sum(),
+                "pendingApprovals", pendingApprovals.sum(),
+                "totalWorkMinutesThisMonth", monthWorkMinutes.sum(),
+                "totalOTMinutesThisMonth", monthOtMinutes.sum());
+    }
+
+    /**
+     * Reset all counters from the database to correct any drift
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.dashboard.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.dashboard.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        for (JobStatus status : JobStatus.values()) {
+            set(ticketsByStatus.get(status), mainTicketRepository.countByStatus(status));
+        }
+        set(pendingApprovals, miniJobCardRepository.countByStatusAndApprovedFalse(JobStatus.COMPLETED));
+        set(generators, generatorRepository.count());
+        set(employees, userRepository.countByRole(UserRole.EMPLOYEE));
+        set(activeEmployees, userRepository.countByRoleAndActive(UserRole.EMPLOYEE, true));
+
+        YearMonth month = YearMonth.now(timeZoneConfig.getZoneId());
+        EmployeeDayFactTotals totals = employeeDayFactRepository.sumTotals(
+                UserRole.EMPLOYEE, month.atDay(1), month.atEndOfMonth());
+        set(monthWorkMinutes, totals.getRegularMinutes());
+        set(monthOtMinutes, totals.getOtMinutes());
+
+        countedMonth = month;
+        initialized = true;
+    }
+
+    /**
+     * Account for job cards approved by a bulk UPDATE, which raises no entity events.
+     * Applied only once the surrounding transaction commits.
+     */
+    public void recordBulkApproval(int approvedCount) {
+        if (approvedCount == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pendingApprovals.add(-approvedCount);
+                }
+            });
+        } else {
+            pendingApprovals.add(-approvedCount);
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        count(event.getPersister(), event.getState(), 1);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getOldState() == null) {
+            // Detached update without a loaded snapshot, fall back to the next reconciliation
+            initialized = false;
+            return;
+        }
+        count(event.getPersister(), event.getOldState(), -1);
+        count(event.getPersister(), event.getState(), 1);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        count(event.getPersister(), event.getDeletedState(), -1);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == MainTicket.class || type == MiniJobCard.class || type == Generator.class
+                || type == User.class || type == EmployeeDayAttendance.class;
+    }
+
+    private void count(EntityPersister persister, Object[] state, int sign) {
+        if (state == null) {
+            return;
+        }
+        Class<?> type = persister.getMappedClass();
+
+        if (type == MainTicket.class) {
+            JobStatus status = (JobStatus) value(persister, state, "status");
+            if (status != null) {
+                ticketsByStatus.get(status).add(sign);
+            }
+        } else if (type == MiniJobCard.class) {
+            if (value(persister, state, "status") == JobStatus.COMPLETED
+                    && !Boolean.TRUE.equals(value(persister, state, "approved"))) {
+                pendingApprovals.add(sign);
+            }
+        } else if (type == Generator.class) {
+            generators.add(sign);
+        } else if (type == User.class) {
+            if (value(persister, state, "role") == UserRole.EMPLOYEE) {
+                employees.add(sign);
+                if (Boolean.TRUE.equals(value(persister, state, "active"))) {
+                    activeEmployees.add(sign);
+                }
+            }
+        } else if (type == EmployeeDayAttendance.class) {
+            LocalDate date = (LocalDate) value(persister, state, "date");
+            if (date != null && YearMonth.from(date).equals(countedMonth)) {
+                monthWorkMinutes.add(sign * minutes(persister, state, "totalWorkMinutes"));
+                monthOtMinutes.add(sign * (minutes(persister, state, "morningOtMinutes")
+                        + minutes(persister, state, "eveningOtMinutes")));
+            }
+        }
+    }
+
+    private Object value(EntityPersister persister, Object[] state, String property) {
+        return state[persister.getEntityMetamodel().getPropertyIndex(property)];
+    }
+
+    private long minutes(EntityPersister persister, Object[] state, String property) {
+        Integer minutes = (Integer) value(persister, state, property);
+        return minutes != null ? minutes : 0;
+    }
+
+    private static void set(LongAdder adder, long value) {
+        adder.reset();
+        adder.add(value);
+    }
+}
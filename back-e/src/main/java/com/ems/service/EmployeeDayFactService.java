@@ -0,0 +1,177 @@
+package com.ems.service;
+
+import com.ems.config.TimeZoneConfig;
+import com.ems.entity.EmployeeDayAttendance;
+import com.ems.entity.JobStatus;
+import com.ems.entity.MiniJobCard;
+import com.ems.repository.EmployeeDayAttendanceRepository;
+import com.ems.repository.EmployeeDayFactRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Maintains the employee_day_facts rollup
+ *
+ * Write paths call the record* methods inside their own transaction so the facts
+ * stay consistent with the raw rows. rebuildFacts recomputes a date range from scratch.
+ */
+@Service
+@Slf4j
+public class EmployeeDayFactService {
+
+    // Start of history used when rebuilding all facts
+    public static final LocalDate HISTORY_START = LocalDate.of(2000, 1, 1);
+
+    @Autowired
+    private EmployeeDayFactRepository factRepository;
+
+    @Autowired
+    private EmployeeDayAttendanceRepository attendanceRepository;
+
+    @Autowired
+    private TimeZoneConfig timeZoneConfig;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    /**
+     * Record the time spent in a status that has just been left
+     *
+     * The time is attributed to the card's scheduled date, the same day rebuildFacts groups
+     * the card's status minutes on. Status changes are only allowed on that day, so it is
+     * also the day the span started.
+     *
+     * @param miniJobCard Job card whose status was active during the span
+     * @param status Status that was active during the span
+     * @param since When the status was entered
+     * @param until When the status was left
+     */
+    @Transactional
+    public void recordStatusSpan(MiniJobCard miniJobCard, JobStatus status,
+                                 LocalDateTime since, LocalDateTime until) {
+        if (since == null || until == null) {
+            return;
+        }
+
+        int minutes = (int) Duration.between(since, until).toMinutes();
+        if (minutes <= 0) {
+            return;
+        }
+
+        Long employeeId = miniJobCard.getEmployee().getId();
+        LocalDate date = miniJobCard.getScheduledDate() != null
+                ? miniJobCard.getScheduledDate()
+                : miniJobCard.getMainTicket().getScheduledDate();
+        reportCache.invalidate(employeeId, date);
+
+        switch (status) {
+            case STARTED -> factRepository.addActivity(employeeId, date, minutes, 0, 0, 0, 0, 0);
+            case ON_HOLD -> factRepository.addActivity(employeeId, date, 0, minutes, 0, 0, 0, 0);
+            case TRAVELING -> factRepository.addActivity(employeeId, date, 0, 0, minutes, 0, 0, 0);
+            default -> { }
+        }
+    }
+
+    /**
+     * Record a job card completion (delta = 1) or a rejection of a completed card (delta = -1)
+     */
+    @Transactional
+    public void recordJobCompleted(MiniJobCard miniJobCard, int delta) {
+        if (miniJobCard.getEndTime() == null) {
+            return;
+        }
+        reportCache.invalidate(miniJobCard.getEmployee().getId(), miniJobCard.getEndTime().toLocalDate());
+        factRepository.addActivity(miniJobCard.getEmployee().getId(), miniJobCard.getEndTime().toLocalDate(),
+                0, 0, 0, delta, 0, 0);
+    }
+
+    /**
+     * Record a job card approval (delta = 1) or revoked approval (delta = -1)
+     */
+    @Transactional
+    public void recordJobApproved(MiniJobCard miniJobCard, int delta) {
+        if (miniJobCard.getEndTime() == null) {
+            return;
+        }
+        recordJobsApproved(miniJobCard.getEmployee().getId(), miniJobCard.getEndTime().toLocalDate(), delta);
+    }
+
+    /**
+     * Record several approvals for one employee-day at once (bulk approval)
+     */
+    @Transactional
+    public void recordJobsApproved(Long employeeId, LocalDate workDate, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        reportCache.invalidate(employeeId, workDate);
+        factRepository.addActivity(employeeId, workDate, 0, 0, 0, 0, delta, 0);
+    }
+
+    /**
+     * Record a change of score weight on a work date
+     */
+    @Transactional
+    public void recordScoreChange(Long employeeId, LocalDate workDate, int weightDelta) {
+        if (weightDelta == 0) {
+            return;
+        }
+        reportCache.invalidate(employeeId, workDate);
+        factRepository.addActivity(employeeId, workDate, 0, 0, 0, 0, 0, weightDelta);
+    }
+
+    /**
+     * Copy regular work minutes and OT from an attendance record
+     */
+    @Transactional
+    public void recordAttendance(EmployeeDayAttendance attendance) {
+        reportCache.invalidate(attendance.getEmployee().getId(), attendance.getDate());
+        factRepository.upsertAttendance(
+                attendance.getEmployee().getId(),
+                attendance.getDate(),
+                attendance.getTotalWorkMinutes() != null ? attendance.getTotalWorkMinutes() : 0,
+                attendance.getMorningOtMinutes() != null ? attendance.getMorningOtMinutes() : 0,
+                attendance.getEveningOtMinutes() != null ? attendance.getEveningOtMinutes() : 0);
+    }
+
+    /**
+     * Rebuild facts for a date range from the raw attendance, job card and score tables
+     *
+     * @param startDate Start date (inclusive), null for all history
+     * @param endDate End date (inclusive), null for today
+     * @return Number of fact rows written
+     */
+    @Transactional
+    public int rebuildFacts(LocalDate startDate, LocalDate endDate) {
+        LocalDate from = startDate != null ? startDate : HISTORY_START;
+        LocalDate to = endDate != null ? endDate : LocalDate.now(timeZoneConfig.getZoneId());
+
+        if (from.isAfter(to)) {
+            throw new RuntimeException("Start date must be before end date");
+        }
+
+        factRepository.deleteByDateRange(from, to);
+        int rows = factRepository.rebuildFacts(from, to);
+        reportCache.invalidateAll();
+
+        log.info("Rebuilt {} employee day facts for {} to {}", rows, from, to);
+        return rows;
+    }
+
+    // Populate the rollup on first start after deployment
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (factRepository.count() == 0 && attendanceRepository.count() > 0) {
+            rebuildFacts(null, null);
+        }
+    }
+}
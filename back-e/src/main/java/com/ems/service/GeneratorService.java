@@ -1,8 +1,8 @@
 package com.ems.service;
 
 import com.ems.dto.GeneratorRequest;
+import com.ems.dto.TicketStatusCount;
 import com.ems.entity.Generator;
-import com.ems.entity.MainTicket;
 import com.ems.entity.JobStatus;
 import com.ems.repository.GeneratorRepository;
 import com.ems.repository.MainTicketRepository;
@@ -11,9 +11,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class GeneratorService {
@@ -23,6 +24,9 @@ public class GeneratorService {
 
     @Autowired
     private MainTicketRepository mainTicketRepository;
+
+    @Autowired
+    private ReportCache reportCache;
     
     public Generator createGenerator(GeneratorRequest request) {
         Generator generator = new Generator();
@@ -49,6 +53,10 @@ public class GeneratorService {
     
     public Generator updateGenerator(Long id, GeneratorRequest request) {
         Generator generator = getGeneratorById(id);
+
+        // Cached reports show the generator name and location of every job
+        boolean reportFieldsChanged = !Objects.equals(generator.getName(), request.getName())
+                || !Objects.equals(generator.getLocationName(), request.getLocationName());
         
         generator.setModel(request.getModel());
         generator.setName(request.getName());
@@ -59,7 +67,11 @@ public class GeneratorService {
         generator.setLandlineNumber(request.getLandlineNumber());
         generator.setNote(request.getNote());
         
-        return generatorRepository.save(generator);
+        generator = generatorRepository.save(generator);
+        if (reportFieldsChanged) {
+            reportCache.invalidateAll();
+        }
+        return generator;
     }
     
     public void deleteGenerator(Long id) {
@@ -77,21 +89,16 @@ public class GeneratorService {
     public Map<String, Object> getGeneratorStatistics(Long id) {
         Generator generator = getGeneratorById(id);
 
-        List<MainTicket> allTickets = mainTicketRepository.findAll().stream()
-                .filter(t -> t.getGenerator().getId().equals(id))
-                .toList();
+        Map<JobStatus, Long> countsByStatus = new EnumMap<>(JobStatus.class);
+        for (TicketStatusCount row : mainTicketRepository.countByStatusForGenerator(id)) {
+            countsByStatus.put(row.getStatus(), row.getCount());
+        }
 
-        long totalTickets = allTickets.size();
-        long completedTickets = allTickets.stream()
-                .filter(t -> t.getStatus() == JobStatus.COMPLETED)
-                .count();
-        long pendingTickets = allTickets.stream()
-                .filter(t -> t.getStatus() == JobStatus.PENDING)
-                .count();
-        long activeTickets = allTickets.stream()
-                .filter(t -> t.getStatus() == JobStatus.STARTED ||
-                        t.getStatus() == JobStatus.TRAVELING)
-                .count();
+        long totalTickets = countsByStatus.values().stream().mapToLong(Long::longValue).sum();
+        long completedTickets = countsByStatus.getOrDefault(JobStatus.COMPLETED, 0L);
+        long pendingTickets = countsByStatus.getOrDefault(JobStatus.PENDING, 0L);
+        long activeTickets = countsByStatus.getOrDefault(JobStatus.STARTED, 0L) +
+                countsByStatus.getOrDefault(JobStatus.TRAVELING, 0L);
 
         Map<String, Object> stats = new HashMap<>();
         stats.put("generatorId", id);
@@ -0,0 +1,162 @@
+package com.ems.service;
+
+import com.ems.config.TimeZoneConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of activity_logs and job_status_logs
+ *
+ * The tables are range partitioned by month (see db/migration/partition_log_tables.sql), one
+ * partition per month named &lt;table&gt;_yYYYYmMM. On startup and once a day this creates the
+ * partitions for the current month and the next months-ahead months, so inserts never fall
+ * into the default partition. With retention-months set, partitions whose month ended more than
+ * that many months ago are detached (kept as standalone tables for archiving) or dropped.
+ * Tables that have not been migrated to partitioning are left alone.
+ */
+@Component
+@Slf4j
+public class LogPartitionService {
+
+    private static final List<String> PARTITIONED_TABLES = List.of("activity_logs", "job_status_logs");
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_y'yyyy'm'MM");
+
+    private static final Pattern PARTITION_MONTH = Pattern.compile("_y(\\d{4})m(\\d{2})$");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TimeZoneConfig timeZoneConfig;
+
+    @Value("${app.logs.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.logs.partitions.retention-months:0}")
+    private int retentionMonths;
+
+    @Value("${app.logs.partitions.retention-action:DETACH}")
+    private String retentionAction;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${app.logs.partitions.cron:0 30 1 * * *}")
+    public void maintainDaily() {
+        maintainPartitions();
+    }
+
+    /**
+     * Create upcoming partitions and apply the retention policy
+     *
+     * @return Partitions created, detached and dropped per table
+     */
+    public synchronized Map<String, Object> maintainPartitions() {
+        YearMonth currentMonth = YearMonth.now(timeZoneConfig.getZoneId());
+        boolean drop = "DROP".equalsIgnoreCase(retentionAction);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (String table : PARTITIONED_TABLES) {
+            if (!isPartitioned(table)) {
+                summary.put(table, Map.of("partitioned", false));
+                continue;
+            }
+
+            List<String> created = new ArrayList<>();
+            for (int i = 0; i <= monthsAhead; i++) {
+                createPartition(table, currentMonth.plusMonths(i), created);
+            }
+
+            List<String> removed = new ArrayList<>();
+            if (retentionMonths > 0) {
+                YearMonth oldestKept = currentMonth.minusMonths(retentionMonths);
+                for (String partition : findPartitions(table)) {
+                    YearMonth month = partitionMonth(partition);
+                    if (month != null && month.isBefore(oldestKept)) {
+                        removePartition(table, partition, drop, removed);
+                    }
+                }
+            }
+
+            if (!created.isEmpty() || !removed.isEmpty()) {
+                log.info("Log partitions for {}: created {}, {} {}",
+                        table, created, drop ? "dropped" : "detached", removed);
+            }
+            summary.put(table, Map.of(
+                    "partitioned", true,
+                    "created", created,
+                    drop ? "dropped" : "detached", removed));
+        }
+        return summary;
+    }
+
+    private boolean isPartitioned(String table) {
+        List<String> relkind = jdbcTemplate.queryForList(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass(?)", String.class, table);
+        return relkind.size() == 1 && "p".equals(relkind.get(0));
+    }
+
+    private void createPartition(String table, YearMonth month, List<String> created) {
+        String partition = table + month.format(PARTITION_SUFFIX);
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition))) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + table +
+                    " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            created.add(partition);
+        } catch (DataAccessException e) {
+            // Fails when the default partition already holds rows for that month
+            log.error("Could not create log partition {}: {}", partition, e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private List<String> findPartitions(String table) {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname",
+                String.class, table);
+    }
+
+    private void removePartition(String table, String partition, boolean drop, List<String> removed) {
+        try {
+            jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+            if (drop) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            }
+            removed.add(partition);
+        } catch (DataAccessException e) {
+            log.error("Could not {} log partition {}: {}",
+                    drop ? "drop" : "detach", partition, e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    // Month of a <table>_yYYYYmMM partition, null for the default partition
+    private static YearMonth partitionMonth(String partition) {
+        Matcher matcher = PARTITION_MONTH.matcher(partition);
+        if (!matcher.find()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+}
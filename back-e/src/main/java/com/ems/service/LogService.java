@@ -1,10 +1,13 @@
 package com.ems.service;
 
 import com.ems.dto.ActivityLogResponseDTO;
+import com.ems.dto.ActivityLogRow;
+import com.ems.dto.CursorPage;
 import com.ems.entity.*;
 import com.ems.repository.ActivityLogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
@@ -12,6 +15,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 public class LogService {
@@ -19,9 +24,16 @@ public class LogService {
     @Autowired
     private ActivityLogRepository activityLogRepository;
 
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
 
+    // Bounds of the log timeline when no date range is given
+    private static final LocalDateTime EARLIEST_LOG = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST_LOG = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     /**
      * Create a new activity log entry
      */
@@ -46,7 +58,7 @@ public class LogService {
                 .longitude(longitude)
                 .details("Status changed from " + oldStatus + " to " + newStatus)
                 .build();
-        activityLogRepository.save(log);
+        activityLogWriter.write(log);
     }
 
     /**
@@ -61,7 +73,7 @@ public class LogService {
                 .longitude(longitude)
                 .details("Employee started their day")
                 .build();
-        activityLogRepository.save(log);
+        activityLogWriter.write(log);
     }
 
     /**
@@ -76,7 +88,7 @@ public class LogService {
                 .longitude(longitude)
                 .details("Employee ended their day")
                 .build();
-        activityLogRepository.save(log);
+        activityLogWriter.write(log);
     }
 
     /**
@@ -92,7 +104,27 @@ public class LogService {
                 .generator(miniJobCard.getMainTicket().getGenerator())
                 .details("Job approved by " + approver.getFullName())
                 .build();
-        activityLogRepository.save(log);
+        activityLogWriter.write(log);
+    }
+
+    /**
+     * Log approval of several job cards (written together by the background writer)
+     */
+    public void logJobApprovals(User approver, List<MiniJobCard> miniJobCards) {
+        List<ActivityLog> logs = new ArrayList<>(miniJobCards.size());
+        for (MiniJobCard miniJobCard : miniJobCards) {
+            User performer = approver != null ? approver : miniJobCard.getEmployee();
+            logs.add(ActivityLog.builder()
+                    .employee(miniJobCard.getEmployee())
+                    .performer(performer)
+                    .activityType(ActivityType.JOB_APPROVED)
+                    .miniJobCard(miniJobCard)
+                    .mainTicket(miniJobCard.getMainTicket())
+                    .generator(miniJobCard.getMainTicket().getGenerator())
+                    .details("Job approved by " + performer.getFullName())
+                    .build());
+        }
+        logs.forEach(activityLogWriter::write);
     }
 
     /**
@@ -108,7 +140,7 @@ public class LogService {
                 .generator(miniJobCard.getMainTicket().getGenerator())
                 .details("Job rejected by " + rejector.getFullName())
                 .build();
-        activityLogRepository.save(log);
+        activityLogWriter.write(log);
     }
 
     /**
@@ -124,14 +156,14 @@ public class LogService {
                 .generator(miniJobCard.getMainTicket().getGenerator())
                 .details("Job assigned to " + employee.getFullName() + " by " + assignedBy.getFullName())
                 .build();
-        activityLogRepository.save(log);
+        activityLogWriter.write(log);
     }
 
     /**
      * Get all logs with pagination
      */
     public Page<ActivityLogResponseDTO> getAllLogs(Pageable pageable) {
-        Page<ActivityLog> logs = activityLogRepository.findAllByOrderByTimestampDesc(pageable);
+        Page<ActivityLogRow> logs = activityLogRepository.findAllRows(pageable);
         return logs.map(this::convertToDTO);
     }
 
@@ -150,30 +182,75 @@ public class LogService {
             endDate = LocalDate.parse(endDateStr, DATE_FORMATTER).atTime(LocalTime.MAX);
         }
 
-        Page<ActivityLog> logs;
+        Page<ActivityLogRow> logs;
 
         // Apply filters based on what's provided
         if (employeeId != null && startDate != null && endDate != null) {
-            logs = activityLogRepository.findByEmployeeIdAndDateRange(employeeId, startDate, endDate, pageable);
+            logs = activityLogRepository.findRowsByEmployeeIdAndDateRange(employeeId, startDate, endDate, pageable);
         } else if (employeeId != null) {
-            logs = activityLogRepository.findByEmployeeIdOrderByTimestampDesc(employeeId, pageable);
+            logs = activityLogRepository.findRowsByEmployeeId(employeeId, pageable);
         } else if (startDate != null && endDate != null) {
-            logs = activityLogRepository.findByDateRange(startDate, endDate, pageable);
+            logs = activityLogRepository.findRowsByDateRange(startDate, endDate, pageable);
         } else {
-            logs = activityLogRepository.findAllByOrderByTimestampDesc(pageable);
+            logs = activityLogRepository.findAllRows(pageable);
         }
 
         return logs.map(this::convertToDTO);
     }
 
     /**
-     * Convert ActivityLog entity to DTO
+     * Get logs filtered by employee and/or date range, newest first, one keyset slice at a time.
+     * The filters must be passed again with every cursor.
+     *
+     * @param cursor nextCursor of the previous slice, null or blank for the first slice
+     * @param size Slice size
      */
-    private ActivityLogResponseDTO convertToDTO(ActivityLog log) {
+    public CursorPage<ActivityLogResponseDTO> getFilteredLogsByCursor(Long employeeId, String startDateStr, String endDateStr,
+                                                                      String cursor, int size) {
+        LocalDateTime from = EARLIEST_LOG;
+        LocalDateTime before = LATEST_LOG;
+        Long beforeId = Long.MAX_VALUE;
+
+        // Same rule as getFilteredLogs: the date range applies only when both dates are given
+        if (startDateStr != null && !startDateStr.isEmpty() && endDateStr != null && !endDateStr.isEmpty()) {
+            from = LocalDate.parse(startDateStr, DATE_FORMATTER).atStartOfDay();
+            before = LocalDate.parse(endDateStr, DATE_FORMATTER).atTime(LocalTime.MAX);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            CursorPage.Cursor after = CursorPage.decodeCursor(cursor);
+            before = after.sortKeyAsDateTime();
+            beforeId = after.id();
+        }
+
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<ActivityLogRow> rows = employeeId != null
+                ? activityLogRepository.findRowsByEmployeeIdBefore(employeeId, from, before, beforeId, limit)
+                : activityLogRepository.findRowsBefore(from, before, beforeId, limit);
+
+        return CursorPage.of(rows, size, row -> CursorPage.encodeCursor(row.getTimestamp(), row.getId()))
+                .map(this::convertToDTO);
+    }
+
+    /**
+     * Convert an activity log row to DTO
+     */
+    private ActivityLogResponseDTO convertToDTO(ActivityLogRow log) {
         ActivityLogResponseDTO dto = ActivityLogResponseDTO.builder()
                 .id(log.getId())
+                .employeeId(log.getEmployeeId())
+                .employeeFullName(log.getEmployeeFullName())
+                .employeeEmail(log.getEmployeeEmail())
+                .performerId(log.getPerformerId())
+                .performerFullName(log.getPerformerFullName())
+                .performerEmail(log.getPerformerEmail())
                 .activityType(log.getActivityType())
-                .activityDescription(getActivityDescription(log))
+                .activityDescription(getActivityDescription(log.getActivityType(), log.getOldStatus(), log.getNewStatus()))
+                .miniJobCardId(log.getMiniJobCardId())
+                .mainTicketId(log.getMainTicketId())
+                .ticketNumber(log.getTicketNumber())
+                .generatorId(log.getGeneratorId())
+                .generatorName(log.getGeneratorName())
+                .generatorLocationName(log.getGeneratorLocationName())
                 .oldStatus(log.getOldStatus())
                 .newStatus(log.getNewStatus())
                 .latitude(log.getLatitude())
@@ -184,38 +261,6 @@ public class LogService {
                 .formattedTime(log.getTimestamp().format(TIME_FORMATTER))
                 .build();
 
-        // Set employee information
-        if (log.getEmployee() != null) {
-            dto.setEmployeeId(log.getEmployee().getId());
-            dto.setEmployeeFullName(log.getEmployee().getFullName());
-            dto.setEmployeeEmail(log.getEmployee().getEmail());
-        }
-
-        // Set performer information
-        if (log.getPerformer() != null) {
-            dto.setPerformerId(log.getPerformer().getId());
-            dto.setPerformerFullName(log.getPerformer().getFullName());
-            dto.setPerformerEmail(log.getPerformer().getEmail());
-        }
-
-        // Set mini job card information
-        if (log.getMiniJobCard() != null) {
-            dto.setMiniJobCardId(log.getMiniJobCard().getId());
-        }
-
-        // Set main ticket information
-        if (log.getMainTicket() != null) {
-            dto.setMainTicketId(log.getMainTicket().getId());
-            dto.setTicketNumber(log.getMainTicket().getTicketNumber());
-        }
-
-        // Set generator information
-        if (log.getGenerator() != null) {
-            dto.setGeneratorId(log.getGenerator().getId());
-            dto.setGeneratorName(log.getGenerator().getName());
-            dto.setGeneratorLocationName(log.getGenerator().getLocationName());
-        }
-
         // Generate Google Maps URL if location is available
         if (log.getLatitude() != null && log.getLongitude() != null) {
             dto.setLocationMapUrl(String.format("https://www.google.com/maps?q=%f,%f", log.getLatitude(), log.getLongitude()));
@@ -227,14 +272,14 @@ public class LogService {
     /**
      * Get a human-readable description of the activity
      */
-    private String getActivityDescription(ActivityLog log) {
-        switch (log.getActivityType()) {
+    private String getActivityDescription(ActivityType activityType, JobStatus oldStatus, JobStatus newStatus) {
+        switch (activityType) {
             case DAY_START:
                 return "Started Day";
             case DAY_END:
                 return "Ended Day";
             case STATUS_UPDATE:
-                return "Status Update: " + log.getOldStatus() + " → " + log.getNewStatus();
+                return "Status Update: " + oldStatus + " → " + newStatus;
             case JOB_APPROVED:
                 return "Job Approved";
             case JOB_REJECTED:
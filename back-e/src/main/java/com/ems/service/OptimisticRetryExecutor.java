@@ -0,0 +1,79 @@
+package com.ems.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write operation in its own transaction and retries it when an optimistic lock
+ * (@Version) conflict is detected
+ *
+ * Each attempt starts from scratch, so the operation re-reads the rows it needs and re-runs its
+ * validation against the state the other request committed (a double-tapped status change then
+ * fails validation instead of being applied twice). Attempts back off with jitter. When the
+ * attempts are used up, or the caller already has a transaction that cannot be restarted, the
+ * conflict is rethrown and reported as 409.
+ */
+@Component
+@Slf4j
+public class OptimisticRetryExecutor {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.concurrency.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.concurrency.retry.backoff-ms:25}")
+    private long backoffMs;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Run the operation, retrying on optimistic lock conflicts
+     *
+     * @param operation Name used in log messages
+     * @param action Work to run; must be safe to repeat after a rollback
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        // Inside an outer transaction a retry would reuse its stale persistence context
+        boolean canRetry = !TransactionSynchronizationManager.isActualTransactionActive();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (!canRetry || attempt >= maxAttempts) {
+                    log.warn("{} failed after {} attempt(s) on a concurrent update: {}", operation, attempt, e.getMessage());
+                    throw e;
+                }
+                log.debug("{} hit a concurrent update, retrying (attempt {})", operation, attempt + 1);
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        long delay = backoffMs * attempt + ThreadLocalRandom.current().nextLong(backoffMs + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to retry a concurrent update");
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.ems.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
+
+/**
+ * Runs set-based report queries over contiguous employee-ID ranges in parallel
+ *
+ * The employees of a report are split into contiguous ID ranges, and each range runs the same
+ * set-based queries with an ID-range predicate on a dedicated, size-limited ForkJoinPool, in its
+ * own read-only transaction. A report never runs more ranges than its chunk budget, so it holds
+ * at most that many DB connections at once; the pool size and the budget are capped at half of
+ * the Hikari connection pool so OLTP requests always have connections available.
+ */
+@Component
+@Slf4j
+public class ParallelReportExecutor {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.reports.parallel.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.reports.parallel.threads:4}")
+    private int threads;
+
+    @Value("${app.reports.parallel.max-chunks-per-report:4}")
+    private int maxChunksPerReport;
+
+    @Value("${app.reports.parallel.min-employees-per-chunk:25}")
+    private int minEmployeesPerChunk;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    private ForkJoinPool pool;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        int maxThreads = Math.max(1, connectionPoolSize / 2);
+        if (threads > maxThreads) {
+            log.warn("app.reports.parallel.threads={} reduced to {} (half of the {} DB connections)",
+                    threads, maxThreads, connectionPoolSize);
+            threads = maxThreads;
+        }
+        maxChunksPerReport = Math.max(1, Math.min(maxChunksPerReport, threads));
+
+        pool = new ForkJoinPool(threads, forkJoinPool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("report-worker-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        log.info("Parallel reports enabled: {} threads, up to {} chunks per report, at least {} employees per chunk",
+                threads, maxChunksPerReport, minEmployeesPerChunk);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Run the task over contiguous ranges of the employee IDs and concatenate the results in range order
+     *
+     * Reports with too few employees for two chunks run as a single range on the calling thread.
+     *
+     * @param employeeIds Employee IDs in ascending order
+     * @param task Work for the employees with IDs from..to (inclusive), must return its results in
+     *             employee ID order; runs inside a read-only transaction
+     * @return Results of all ranges, in employee ID order
+     */
+    public <R> List<R> mapRanges(List<Long> employeeIds, BiFunction<Long, Long, List<R>> task) {
+        if (employeeIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        int chunkCount = enabled ? Math.min(maxChunksPerReport, employeeIds.size() / minEmployeesPerChunk) : 1;
+        if (chunkCount <= 1) {
+            return task.apply(employeeIds.get(0), employeeIds.get(employeeIds.size() - 1));
+        }
+
+        List<ForkJoinTask<List<R>>> chunks = new ArrayList<>(chunkCount);
+        int chunkSize = (employeeIds.size() + chunkCount - 1) / chunkCount;
+        for (int from = 0; from < employeeIds.size(); from += chunkSize) {
+            Long fromId = employeeIds.get(from);
+            Long toId = employeeIds.get(Math.min(from + chunkSize, employeeIds.size()) - 1);
+            chunks.add(pool.submit(() -> readOnlyTransaction.execute(status -> task.apply(fromId, toId))));
+        }
+
+        List<R> results = new ArrayList<>();
+        try {
+            for (ForkJoinTask<List<R>> chunk : chunks) {
+                results.addAll(chunk.get());
+            }
+        } catch (InterruptedException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Report generation was interrupted");
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Report generation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return results;
+    }
+}
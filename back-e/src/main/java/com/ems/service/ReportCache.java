@@ -0,0 +1,186 @@
+package com.ems.service;
+
+import com.ems.config.TimeZoneConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache for reports over closed periods
+ *
+ * Only reports whose end date is before today are cached, since those rarely change.
+ * Entries are keyed by report type, employee and date range, evicted least-recently-used
+ * beyond the size limit and expired after the TTL. Writes that touch an employee-day
+ * invalidate every cached report whose range contains that day and that covers the
+ * employee (or all employees). Renames of tickets or generators, which can appear in any
+ * report, clear the whole cache. Cached results are shared and must not be modified.
+ *
+ * The cache is local to each application instance. When several instances run behind a load
+ * balancer, a write only invalidates the cache of the instance that handled it; the others keep
+ * serving their entries until the TTL expires, so keep ttl-minutes short or disable the cache
+ * in that setup.
+ */
+@Component
+@Slf4j
+public class ReportCache {
+
+    @Autowired
+    private TimeZoneConfig timeZoneConfig;
+
+    @Value("${app.reports.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reports.cache.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${app.reports.cache.ttl-minutes:720}")
+    private long ttlMinutes;
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Incremented on every invalidation so results computed concurrently with a write are not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Get a cached report or compute and cache it
+     *
+     * @param type Report type, e.g. "OT"
+     * @param employeeId Employee filter, null for all employees
+     * @param startDate Report start date
+     * @param endDate Report end date
+     * @param loader Computes the report on a miss
+     * @return Cached or freshly computed report
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String type, Long employeeId, LocalDate startDate, LocalDate endDate, Supplier<T> loader) {
+        if (!enabled || !endDate.isBefore(LocalDate.now(timeZoneConfig.getZoneId()))) {
+            return loader.get();
+        }
+
+        Key key = new Key(type, employeeId, startDate, endDate);
+        long now = System.currentTimeMillis();
+
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                hits.increment();
+                return (T) entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions.increment();
+            }
+        }
+
+        misses.increment();
+        long generationBefore = generation.get();
+        T value = loader.get();
+
+        synchronized (entries) {
+            if (generation.get() == generationBefore) {
+                entries.put(key, new Entry(value, now + ttlMinutes * 60_000));
+                while (entries.size() > maxEntries) {
+                    Key eldest = entries.keySet().iterator().next();
+                    entries.remove(eldest);
+                    evictions.increment();
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Invalidate reports that include the employee-day
+     *
+     * Runs immediately and again after the current transaction commits, so a report
+     * computed before the write is visible cannot stay cached.
+     */
+    public void invalidate(Long employeeId, LocalDate date) {
+        if (!enabled || date == null) {
+            return;
+        }
+
+        evict(employeeId, date);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(employeeId, date);
+                }
+            });
+        }
+    }
+
+    /**
+     * Invalidate all cached reports
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            invalidations.add(entries.size());
+            entries.clear();
+        }
+    }
+
+    /**
+     * Cache size and hit/miss counters
+     */
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlMinutes", ttlMinutes);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("hitRate", hitCount + missCount > 0 ? (hitCount * 100.0 / (hitCount + missCount)) : 0);
+        return stats;
+    }
+
+    private void evict(Long employeeId, LocalDate date) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            int before = entries.size();
+            entries.keySet().removeIf(key -> key.covers(employeeId, date));
+            int removed = before - entries.size();
+            if (removed > 0) {
+                invalidations.add(removed);
+                log.debug("Invalidated {} cached reports for employee {} on {}", removed, employeeId, date);
+            }
+        }
+    }
+
+    private record Key(String type, Long employeeId, LocalDate startDate, LocalDate endDate) {
+        boolean covers(Long employee, LocalDate date) {
+            return (employeeId == null || Objects.equals(employeeId, employee))
+                    && !date.isBefore(startDate) && !date.isAfter(endDate);
+        }
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+}
@@ -0,0 +1,329 @@
+package com.ems.service;
+
+import com.ems.config.TimeZoneConfig;
+import com.ems.dto.ReportJobRequest;
+import com.ems.dto.ReportJobRequest.ReportType;
+import com.ems.dto.ReportJobResponse;
+import com.ems.dto.ReportJobResponse.JobState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs long reports in the background
+ *
+ * Jobs are executed on a bounded thread pool with a bounded queue, and each user may only
+ * have a limited number of queued or running jobs. Results are written to local disk and
+ * deleted after they expire. Job state is kept in memory, so jobs belong to the instance
+ * that accepted them. A job reports its state (and its position in the queue while queued)
+ * rather than a percentage, since each report is computed by a few set-based queries.
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TimeZoneConfig timeZoneConfig;
+
+    @Value("${app.reports.jobs.threads:2}")
+    private int threads;
+
+    @Value("${app.reports.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${app.reports.jobs.max-per-user:2}")
+    private int maxJobsPerUser;
+
+    @Value("${app.reports.jobs.result-ttl-minutes:60}")
+    private long resultTtlMinutes;
+
+    @Value("${app.reports.jobs.result-dir:${java.io.tmpdir}/ems-report-jobs}")
+    private String resultDir;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> activeJobsByUser = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+    private Path resultPath;
+
+    @PostConstruct
+    public void init() throws IOException {
+        resultPath = Paths.get(resultDir);
+        Files.createDirectories(resultPath);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Submit a report for background generation
+     *
+     * @param request Report specification
+     * @param username User submitting the job
+     * @return Initial job state
+     */
+    public ReportJobResponse submit(ReportJobRequest request, String username) {
+        if (request.getStartDate().isAfter(request.getEndDate())) {
+            throw new RuntimeException("Start date must be before end date");
+        }
+        if (request.getReportType() == ReportType.EMPLOYEE_WORK && request.getEmployeeId() == null) {
+            throw new RuntimeException("Employee ID is required for the employee work report");
+        }
+
+        AtomicInteger active = activeJobsByUser.computeIfAbsent(username, k -> new AtomicInteger());
+        if (active.incrementAndGet() > maxJobsPerUser) {
+            active.decrementAndGet();
+            throw new RuntimeException("You already have " + maxJobsPerUser +
+                    " report jobs in progress. Please wait for them to finish.");
+        }
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), username, request, now());
+        jobs.put(job.id, job);
+
+        try {
+            job.future = executor.submit(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            active.decrementAndGet();
+            throw new RuntimeException("Report queue is full. Please try again later.");
+        }
+
+        log.info("Report job {} ({}) submitted by {}", job.id, request.getReportType(), username);
+        return toResponse(job);
+    }
+
+    /**
+     * Get the state of a job owned by the user
+     */
+    public ReportJobResponse getJob(String jobId, String username) {
+        return toResponse(findJob(jobId, username));
+    }
+
+    /**
+     * List the user's jobs, newest first
+     */
+    public List<ReportJobResponse> getJobs(String username) {
+        return jobs.values().stream()
+                .filter(job -> job.owner.equals(username))
+                .sorted(Comparator.comparing((ReportJob job) -> job.submittedAt).reversed())
+                .map(this::toResponse)
+                .toList();
+    }
+
+    /**
+     * Cancel a queued or running job
+     */
+    public ReportJobResponse cancel(String jobId, String username) {
+        ReportJob job = findJob(jobId, username);
+        if (job.state == JobState.QUEUED || job.state == JobState.RUNNING) {
+            if (job.future != null) {
+                job.future.cancel(true);
+            }
+            finish(job, JobState.FAILED, "Cancelled by user");
+        }
+        return toResponse(job);
+    }
+
+    /**
+     * Copy a completed job's result to the output
+     */
+    public void writeResult(String jobId, String username, OutputStream out) throws IOException {
+        ReportJob job = findJob(jobId, username);
+        if (job.state != JobState.COMPLETED) {
+            throw new RuntimeException("Report is not ready. Current state: " + job.state);
+        }
+        Files.copy(job.resultFile, out);
+    }
+
+    /**
+     * Content type and file name of a job's result
+     */
+    public String getResultContentType(String jobId, String username) {
+        return findJob(jobId, username).request.getReportType().isCsv() ? "text/csv; charset=UTF-8" : "application/json";
+    }
+
+    public String getResultFileName(String jobId, String username) {
+        ReportJob job = findJob(jobId, username);
+        return job.request.getReportType().name().toLowerCase().replace('_', '-') + "-report"
+                + (job.request.getReportType().isCsv() ? ".csv" : ".json");
+    }
+
+    // Delete expired results every 5 minutes
+    @Scheduled(fixedDelay = 300000)
+    public void purgeExpiredResults() {
+        LocalDateTime now = now();
+        jobs.values().removeIf(job -> {
+            if (job.expiresAt == null || job.expiresAt.isAfter(now)) {
+                return false;
+            }
+            job.state = JobState.EXPIRED;
+            deleteResult(job);
+            return true;
+        });
+    }
+
+    private void run(ReportJob job) {
+        if (job.state != JobState.QUEUED) {
+            return;
+        }
+        job.state = JobState.RUNNING;
+        job.startedAt = now();
+
+        Path file = resultPath.resolve(job.id + (job.request.getReportType().isCsv() ? ".csv" : ".json"));
+        try (OutputStream out = Files.newOutputStream(file)) {
+            job.resultFile = file;
+            generate(job.request, out);
+            finish(job, JobState.COMPLETED, null);
+            log.info("Report job {} completed", job.id);
+        } catch (Exception e) {
+            log.warn("Report job {} failed: {}", job.id, e.getMessage());
+            finish(job, JobState.FAILED, e.getMessage());
+            deleteResult(job);
+        }
+    }
+
+    private void generate(ReportJobRequest request, OutputStream out) throws IOException {
+        Long employeeId = request.getEmployeeId();
+        switch (request.getReportType()) {
+            case TIME_TRACKING -> objectMapper.writeValue(out,
+                    reportService.getTimeTrackingReport(employeeId, request.getStartDate(), request.getEndDate()));
+            case TIME_TRACKING_CSV ->
+                    reportService.writeTimeTrackingReportCSV(employeeId, request.getStartDate(), request.getEndDate(), out);
+            case DAILY_TIME_TRACKING -> objectMapper.writeValue(out,
+                    reportService.getDailyTimeTrackingReport(employeeId, request.getStartDate(), request.getEndDate()));
+            case OVERTIME -> objectMapper.writeValue(out,
+                    reportService.getOTReport(employeeId, request.getStartDate(), request.getEndDate()));
+            case OVERTIME_CSV ->
+                    reportService.writeOTReportCSV(employeeId, request.getStartDate(), request.getEndDate(), out);
+            case EMPLOYEE_WORK -> objectMapper.writeValue(out,
+                    reportService.getEmployeeWorkReport(employeeId, request.getStartDate(), request.getEndDate()));
+            case EMPLOYEE_PRODUCTIVITY -> objectMapper.writeValue(out,
+                    reportService.getEmployeeProductivityReport(request.getStartDate(), request.getEndDate(), employeeId));
+        }
+    }
+
+    private synchronized void finish(ReportJob job, JobState state, String error) {
+        if (job.state == JobState.COMPLETED || job.state == JobState.FAILED) {
+            return;
+        }
+        job.state = state;
+        job.error = error;
+        job.completedAt = now();
+        job.expiresAt = job.completedAt.plusMinutes(resultTtlMinutes);
+
+        AtomicInteger active = activeJobsByUser.get(job.owner);
+        if (active != null) {
+            active.decrementAndGet();
+        }
+    }
+
+    private void deleteResult(ReportJob job) {
+        if (job.resultFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(job.resultFile);
+        } catch (IOException e) {
+            log.warn("Failed to delete report result {}: {}", job.resultFile, e.getMessage());
+        }
+    }
+
+    private ReportJob findJob(String jobId, String username) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null || !job.owner.equals(username)) {
+            throw new RuntimeException("Report job not found");
+        }
+        return job;
+    }
+
+    private ReportJobResponse toResponse(ReportJob job) {
+        return ReportJobResponse.builder()
+                .jobId(job.id)
+                .reportType(job.request.getReportType())
+                .employeeId(job.request.getEmployeeId())
+                .startDate(job.request.getStartDate())
+                .endDate(job.request.getEndDate())
+                .state(job.state)
+                .queuePosition(job.state == JobState.QUEUED ? queuePosition(job) : null)
+                .error(job.error)
+                .submittedAt(job.submittedAt)
+                .startedAt(job.startedAt)
+                .completedAt(job.completedAt)
+                .expiresAt(job.expiresAt)
+                .downloadUrl(job.state == JobState.COMPLETED ? "/api/admin/report-jobs/" + job.id + "/download" : null)
+                .build();
+    }
+
+    // Position of a queued job in the executor queue, or null once it has been taken off
+    private Integer queuePosition(ReportJob job) {
+        int position = 0;
+        for (Runnable queued : executor.getQueue()) {
+            if (queued == job.future) {
+                return position;
+            }
+            position++;
+        }
+        return null;
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(timeZoneConfig.getZoneId());
+    }
+
+    private static class ReportJob {
+        final String id;
+        final String owner;
+        final ReportJobRequest request;
+        final LocalDateTime submittedAt;
+        volatile JobState state = JobState.QUEUED;
+        volatile String error;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime completedAt;
+        volatile LocalDateTime expiresAt;
+        volatile Path resultFile;
+        volatile Future<?> future;
+
+        ReportJob(String id, String owner, ReportJobRequest request, LocalDateTime submittedAt) {
+            this.id = id;
+            this.owner = owner;
+            this.request = request;
+            this.submittedAt = submittedAt;
+        }
+    }
+}
@@ -3,21 +3,41 @@ package com.ems.service;
 import com.ems.config.TimeZoneConfig;
 import com.ems.dto.DailyTimeTrackingReportDTO;
 import com.ems.dto.EmployeeDailyWorkTimeReportDTO;
+import com.ems.dto.EmployeeDayFactTotals;
+import com.ems.dto.EmployeeJobCounts;
+import com.ems.dto.GeneratorOTRow;
 import com.ems.dto.OTReportResponse;
+import com.ems.dto.OTReportRow;
+import com.ems.dto.TicketStatusCount;
+import com.ems.dto.TimeTrackingDayRow;
+import com.ems.dto.TimeTrackingLocationRow;
 import com.ems.dto.TimeTrackingReportResponse;
 import com.ems.entity.*;
 import com.ems.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ReportService {
     
+    private static final String TIME_TRACKING_CSV_HEADER =
+            "Employee Name,Date,Day Start,Day End,Work Minutes,Idle Minutes,Travel Minutes,Total Minutes\n";
+    private static final String OT_CSV_HEADER =
+            "Employee Name,Date,Morning OT (minutes),Evening OT (minutes),Total OT (minutes)\n";
+
     @Autowired
     private EmployeeDayAttendanceRepository attendanceRepository;
     
@@ -39,83 +59,61 @@ public class ReportService {
     @Autowired
     private GeneratorRepository generatorRepository;
 
+    @Autowired
+    private EmployeeDayFactRepository employeeDayFactRepository;
+
     @Autowired
     private TimeZoneConfig timeZoneConfig;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private ParallelReportExecutor parallelReportExecutor;
     
-    public List<TimeTrackingReportResponse> getTimeTrackingReport(Long employeeId, LocalDate startDate, LocalDate endDate) {
-        User employee = null;
-        if (employeeId != null) {
-            employee = userRepository.findById(employeeId)
-                    .orElseThrow(() -> new RuntimeException("Employee not found"));
-        }
-        
-        List<EmployeeDayAttendance> attendances;
-        if (employee != null) {
-            attendances = attendanceRepository.findByEmployeeAndDateBetween(employee, startDate, endDate);
-        } else {
-            // Get all employees' attendance
-            attendances = new ArrayList<>();
-            List<User> employees = userRepository.findByRole(UserRole.EMPLOYEE, org.springframework.data.domain.Pageable.unpaged()).getContent();
-            for (User emp : employees) {
-                attendances.addAll(attendanceRepository.findByEmployeeAndDateBetween(emp, startDate, endDate));
-            }
+    public List<TimeTrackingReportResponse> getTimeTrackingReport(
+            Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return reportCache.get("TIME_TRACKING", employeeId, startDate, endDate,
+                () -> computeTimeTrackingReport(employeeId, startDate, endDate));
+    }
+
+    private List<TimeTrackingReportResponse> computeTimeTrackingReport(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        if (employeeId != null && !userRepository.existsById(employeeId)) {
+            throw new RuntimeException("Employee not found");
         }
-        
-        List<TimeTrackingReportResponse> reports = new ArrayList<>();
-        
-        for (EmployeeDayAttendance attendance : attendances) {
+
+        // Work, idle and travel minutes are aggregated per employee-day in the database
+        List<TimeTrackingDayRow> rows = attendanceRepository.findTimeTrackingRows(employeeId, null, null, startDate, endDate);
+
+        List<TimeTrackingReportResponse> reports = new ArrayList<>(rows.size());
+
+        for (TimeTrackingDayRow row : rows) {
             TimeTrackingReportResponse report = new TimeTrackingReportResponse();
-            report.setEmployeeName(attendance.getEmployee().getFullName());
-            report.setDate(attendance.getDate());
-            report.setDayStartTime(attendance.getDayStartTime());
-            report.setDayEndTime(attendance.getDayEndTime());
-            
-            // Calculate work, idle, and travel time from job status logs
-            List<MiniJobCard> jobCards = miniJobCardRepository.findByEmployee(
-                    attendance.getEmployee(), 
-                    org.springframework.data.domain.Pageable.unpaged()
-            ).getContent();
-            
-            int totalWorkMinutes = 0;
-            int totalIdleMinutes = 0;
-            int totalTravelMinutes = 0;
-            
-            for (MiniJobCard jobCard : jobCards) {
-                if (jobCard.getStartTime() != null && 
-                    jobCard.getStartTime().toLocalDate().equals(attendance.getDate())) {
-                    
-                    List<JobStatusLog> logs = jobStatusLogRepository.findByMiniJobCardIdOrderByLoggedAtDesc(jobCard.getId());
-                    
-                    // Calculate time in each status
-                    for (int i = logs.size() - 1; i > 0; i--) {
-                        JobStatusLog currentLog = logs.get(i);
-                        JobStatusLog nextLog = logs.get(i - 1);
-                        
-                        long minutes = java.time.Duration.between(currentLog.getLoggedAt(), nextLog.getLoggedAt()).toMinutes();
-                        
-                        if (currentLog.getNewStatus() == JobStatus.STARTED) {
-                            totalWorkMinutes += minutes;
-                        } else if (currentLog.getNewStatus() == JobStatus.ON_HOLD) {
-                            totalIdleMinutes += minutes;
-                        } else if (currentLog.getNewStatus() == JobStatus.TRAVELING) {
-                            totalTravelMinutes += minutes;
-                        }
-                    }
-                }
-            }
-            
-            report.setWorkMinutes(totalWorkMinutes);
-            report.setIdleMinutes(totalIdleMinutes);
-            report.setTravelMinutes(totalTravelMinutes);
-            report.setTotalMinutes(attendance.getTotalWorkMinutes());
-            
+            report.setEmployeeName(row.getEmployeeName());
+            report.setDate(row.getDate());
+            report.setDayStartTime(row.getDayStartTime());
+            report.setDayEndTime(row.getDayEndTime());
+            report.setWorkMinutes(row.getWorkMinutes());
+            report.setIdleMinutes(row.getIdleMinutes());
+            report.setTravelMinutes(row.getTravelMinutes());
+            report.setTotalMinutes(row.getTotalMinutes());
+
             reports.add(report);
         }
-        
+
         return reports;
     }
     
-    public List<OTReportResponse> getOTReport(Long employeeId, LocalDate startDate, LocalDate endDate) {
+    public List<OTReportResponse> getOTReport(
+            Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return reportCache.get("OVERTIME", employeeId, startDate, endDate,
+                () -> computeOTReport(employeeId, startDate, endDate));
+    }
+
+    private List<OTReportResponse> computeOTReport(Long employeeId, LocalDate startDate, LocalDate endDate) {
         User employee = null;
         if (employeeId != null) {
             employee = userRepository.findById(employeeId)
@@ -126,11 +124,8 @@ public class ReportService {
         if (employee != null) {
             attendances = attendanceRepository.findByEmployeeAndDateBetween(employee, startDate, endDate);
         } else {
-            attendances = new ArrayList<>();
-            List<User> employees = userRepository.findByRole(UserRole.EMPLOYEE, org.springframework.data.domain.Pageable.unpaged()).getContent();
-            for (User emp : employees) {
-                attendances.addAll(attendanceRepository.findByEmployeeAndDateBetween(emp, startDate, endDate));
-            }
+            attendances = attendanceRepository.findByEmployeeRoleAndDateBetweenOrderByEmployeeIdAscDateAsc(
+                    UserRole.EMPLOYEE, startDate, endDate);
         }
         
         List<OTReportResponse> reports = new ArrayList<>();
@@ -149,43 +144,26 @@ public class ReportService {
         return reports;
     }
     
-    public Map<String, Object> getOTReportByGenerator(LocalDate startDate, LocalDate endDate) {
-        List<User> employees = userRepository.findByRole(UserRole.EMPLOYEE, org.springframework.data.domain.Pageable.unpaged()).getContent();
-        
-        Map<String, Map<String, Integer>> generatorOTMap = new HashMap<>();
-        
-        for (User employee : employees) {
-            List<EmployeeDayAttendance> attendances = attendanceRepository.findByEmployeeAndDateBetween(employee, startDate, endDate);
-            
-            for (EmployeeDayAttendance attendance : attendances) {
-                // Get job cards for this employee on this date
-                List<MiniJobCard> jobCards = miniJobCardRepository.findByEmployee(
-                        employee, 
-                        org.springframework.data.domain.Pageable.unpaged()
-                ).getContent().stream()
-                        .filter(jc -> jc.getStartTime() != null && 
-                                     jc.getStartTime().toLocalDate().equals(attendance.getDate()))
-                        .collect(Collectors.toList());
-                
-                for (MiniJobCard jobCard : jobCards) {
-                    String generatorName = jobCard.getMainTicket().getGenerator().getName();
-                    
-                    generatorOTMap.putIfAbsent(generatorName, new HashMap<>());
-                    Map<String, Integer> otData = generatorOTMap.get(generatorName);
-                    
-                    otData.put("morningOT", otData.getOrDefault("morningOT", 0) + attendance.getMorningOtMinutes());
-                    otData.put("eveningOT", otData.getOrDefault("eveningOT", 0) + attendance.getEveningOtMinutes());
-                    otData.put("totalOT", otData.getOrDefault("totalOT", 0) + 
-                              attendance.getMorningOtMinutes() + attendance.getEveningOtMinutes());
-                }
-            }
-        }
-        
+    /**
+     * OT attributed to each generator, highest total first
+     *
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @param pageable Page of generators, unpaged for all (page 0 with size N gives the top N)
+     * @return Generator rows with ID, name, location and OT totals
+     */
+    public Map<String, Object> getOTReportByGenerator(LocalDate startDate, LocalDate endDate,
+                                                      org.springframework.data.domain.Pageable pageable) {
+        org.springframework.data.domain.Page<GeneratorOTRow> page =
+                attendanceRepository.sumOtByGenerator(startDate, endDate, pageable);
+
         Map<String, Object> result = new HashMap<>();
-        result.put("generatorWiseOT", generatorOTMap);
+        result.put("generatorWiseOT", page.getContent());
+        result.put("totalGenerators", page.getTotalElements());
+        result.put("totalPages", page.getTotalPages());
         result.put("startDate", startDate);
         result.put("endDate", endDate);
-        
+
         return result;
     }
     
@@ -238,45 +216,69 @@ public class ReportService {
 
     public List<Map<String, Object>> getEmployeeProductivityReport(
             LocalDate startDate, LocalDate endDate, Long employeeId) {
+        return reportCache.get("EMPLOYEE_PRODUCTIVITY", employeeId, startDate, endDate,
+                () -> computeEmployeeProductivityReport(startDate, endDate, employeeId));
+    }
+
+    private List<Map<String, Object>> computeEmployeeProductivityReport(
+            LocalDate startDate, LocalDate endDate, Long employeeId) {
 
-        List<User> employees;
         if (employeeId != null) {
             User emp = userRepository.findById(employeeId)
                     .orElseThrow(() -> new RuntimeException("Employee not found"));
-            employees = List.of(emp);
-        } else {
-            employees = userRepository.findByRole(UserRole.EMPLOYEE,
-                    org.springframework.data.domain.Pageable.unpaged()).getContent();
+            return computeEmployeeProductivity(List.of(emp), employeeId, employeeId, startDate, endDate);
+        }
+
+        // Parallel mode: contiguous employee-ID ranges, each with its own queries
+        if (parallelReportExecutor.isEnabled()) {
+            return parallelReportExecutor.mapRanges(userRepository.findIdsByRole(UserRole.EMPLOYEE),
+                    (fromId, toId) -> computeEmployeeProductivity(
+                            userRepository.findByRoleAndIdBetweenOrderByIdAsc(UserRole.EMPLOYEE, fromId, toId),
+                            fromId, toId, startDate, endDate));
+        }
+
+        return computeEmployeeProductivity(userRepository.findByRoleOrderByIdAsc(UserRole.EMPLOYEE),
+                null, null, startDate, endDate);
+    }
+
+    // Productivity of the given employees, whose IDs lie in fromId..toId (both null for no limit)
+    private List<Map<String, Object>> computeEmployeeProductivity(
+            List<User> employees, Long fromId, Long toId, LocalDate startDate, LocalDate endDate) {
+
+        // Job counts and work minutes by card creation date, one grouped query for all employees
+        Map<Long, EmployeeJobCounts> jobCounts = new HashMap<>();
+        for (EmployeeJobCounts counts : miniJobCardRepository.countJobsByEmployeeCreatedBetween(
+                fromId, toId, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay())) {
+            jobCounts.put(counts.getEmployeeId(), counts);
+        }
+
+        // OT, approvals and scores from the pre-aggregated employee day facts
+        Map<Long, EmployeeDayFactTotals> factTotals = new HashMap<>();
+        for (EmployeeDayFactTotals totals : employeeDayFactRepository.sumTotalsByEmployee(fromId, toId, startDate, endDate)) {
+            factTotals.put(totals.getEmployeeId(), totals);
         }
 
         List<Map<String, Object>> report = new ArrayList<>();
 
         for (User employee : employees) {
-            List<MiniJobCard> cards = miniJobCardRepository.findByEmployee(
-                            employee, org.springframework.data.domain.Pageable.unpaged())
-                    .getContent()
-                    .stream()
-                    .filter(c -> c.getCreatedAt().toLocalDate().isAfter(startDate.minusDays(1)) &&
-                            c.getCreatedAt().toLocalDate().isBefore(endDate.plusDays(1)))
-                    .toList();
-
-            long completedJobs = cards.stream().filter(c -> c.getStatus() == JobStatus.COMPLETED).count();
-            int totalWorkMinutes = cards.stream().mapToInt(MiniJobCard::getWorkMinutes).sum();
-
-            List<EmployeeDayAttendance> attendances = attendanceRepository.findByEmployeeAndDateBetween(
-                    employee, startDate, endDate);
-            int totalOT = attendances.stream()
-                    .mapToInt(a -> a.getMorningOtMinutes() + a.getEveningOtMinutes())
-                    .sum();
+            EmployeeJobCounts counts = jobCounts.get(employee.getId());
+            EmployeeDayFactTotals totals = factTotals.get(employee.getId());
+
+            long totalJobs = counts != null ? counts.getTotalJobs() : 0;
+            long completedJobs = counts != null ? counts.getCompletedJobs() : 0;
+            long totalWorkMinutes = counts != null ? counts.getWorkMinutes() : 0;
+            long totalOT = totals != null ? totals.getOtMinutes() : 0;
 
             Map<String, Object> empReport = new HashMap<>();
             empReport.put("employeeId", employee.getId());
             empReport.put("employeeName", employee.getFullName());
-            empReport.put("totalJobs", cards.size());
+            empReport.put("totalJobs", totalJobs);
             empReport.put("completedJobs", completedJobs);
             empReport.put("totalWorkMinutes", totalWorkMinutes);
             empReport.put("totalOTMinutes", totalOT);
-            empReport.put("completionRate", cards.size() > 0 ? (completedJobs * 100.0 / cards.size()) : 0);
+            empReport.put("approvedJobs", totals != null ? totals.getJobsApproved() : 0);
+            empReport.put("totalScore", totals != null ? totals.getScoreSum() : 0);
+            empReport.put("completionRate", totalJobs > 0 ? (completedJobs * 100.0 / totalJobs) : 0);
 
             report.add(empReport);
         }
@@ -284,59 +286,63 @@ public class ReportService {
         return report;
     }
 
-    public Map<String, Object> getGeneratorServiceHistory(Long generatorId) {
+    public Map<String, Object> getGeneratorServiceHistory(Long generatorId,
+                                                          org.springframework.data.domain.Pageable pageable) {
         Generator generator = generatorRepository.findById(generatorId)
                 .orElseThrow(() -> new RuntimeException("Generator not found"));
 
-        List<MainTicket> tickets = mainTicketRepository.findAll().stream()
-                .filter(t -> t.getGenerator().getId().equals(generatorId))
-                .toList();
+        org.springframework.data.domain.Page<MainTicket> tickets =
+                mainTicketRepository.findByGeneratorId(generatorId, pageable);
 
-        long completed = tickets.stream().filter(t -> t.getStatus() == JobStatus.COMPLETED).count();
+        long total = 0;
+        long completed = 0;
+        for (TicketStatusCount row : mainTicketRepository.countByStatusForGenerator(generatorId)) {
+            total += row.getCount();
+            if (row.getStatus() == JobStatus.COMPLETED) {
+                completed += row.getCount();
+            }
+        }
 
         Map<String, Object> result = new HashMap<>();
         result.put("generatorId", generatorId);
         result.put("generatorName", generator.getName());
         result.put("generatorLocation", generator.getLocationName());
-        result.put("totalServices", tickets.size());
+        result.put("totalServices", total);
         result.put("completedServices", completed);
-        result.put("tickets", tickets);
+        result.put("tickets", tickets.getContent());
+        result.put("totalPages", tickets.getTotalPages());
 
         return result;
     }
 
     public Map<String, Object> getDailyAttendanceReport(LocalDate date) {
-        List<User> allEmployees = userRepository.findByRole(UserRole.EMPLOYEE,
-                org.springframework.data.domain.Pageable.unpaged()).getContent();
+        // All employees' attendance for the day, with the employee, in one query
+        List<EmployeeDayAttendance> attendances =
+                attendanceRepository.findByEmployeeRoleAndDateOrderByEmployeeIdAsc(UserRole.EMPLOYEE, date);
 
         List<Map<String, Object>> attendanceData = new ArrayList<>();
         int totalWorkMinutes = 0;
         int totalOT = 0;
 
-        for (User employee : allEmployees) {
-            EmployeeDayAttendance attendance = attendanceRepository.findByEmployeeAndDate(employee, date)
-                    .orElse(null);
-
-            if (attendance != null) {
-                Map<String, Object> data = new HashMap<>();
-                data.put("employeeName", employee.getFullName());
-                data.put("dayStartTime", attendance.getDayStartTime());
-                data.put("dayEndTime", attendance.getDayEndTime());
-                data.put("totalWorkMinutes", attendance.getTotalWorkMinutes());
-                data.put("morningOT", attendance.getMorningOtMinutes());
-                data.put("eveningOT", attendance.getEveningOtMinutes());
-                data.put("totalOT", attendance.getMorningOtMinutes() + attendance.getEveningOtMinutes());
-
-                attendanceData.add(data);
-                totalWorkMinutes += attendance.getTotalWorkMinutes();
-                totalOT += attendance.getMorningOtMinutes() + attendance.getEveningOtMinutes();
-            }
+        for (EmployeeDayAttendance attendance : attendances) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("employeeName", attendance.getEmployee().getFullName());
+            data.put("dayStartTime", attendance.getDayStartTime());
+            data.put("dayEndTime", attendance.getDayEndTime());
+            data.put("totalWorkMinutes", attendance.getTotalWorkMinutes());
+            data.put("morningOT", attendance.getMorningOtMinutes());
+            data.put("eveningOT", attendance.getEveningOtMinutes());
+            data.put("totalOT", attendance.getMorningOtMinutes() + attendance.getEveningOtMinutes());
+
+            attendanceData.add(data);
+            totalWorkMinutes += attendance.getTotalWorkMinutes();
+            totalOT += attendance.getMorningOtMinutes() + attendance.getEveningOtMinutes();
         }
 
         Map<String, Object> result = new HashMap<>();
         result.put("date", date);
         result.put("employeesWorked", attendanceData.size());
-        result.put("totalEmployees", allEmployees.size());
+        result.put("totalEmployees", userRepository.countByRole(UserRole.EMPLOYEE));
         result.put("totalWorkMinutes", totalWorkMinutes);
         result.put("totalOTMinutes", totalOT);
         result.put("attendanceData", attendanceData);
@@ -348,36 +354,40 @@ public class ReportService {
         LocalDate startDate = LocalDate.of(year, month, 1);
         LocalDate endDate = startDate.plusMonths(1).minusDays(1);
 
-        List<MainTicket> tickets = mainTicketRepository.findByScheduledDateBetween(
-                startDate, endDate, org.springframework.data.domain.Pageable.unpaged()
-        ).getContent();
-
-        List<User> employees = userRepository.findByRole(UserRole.EMPLOYEE,
-                org.springframework.data.domain.Pageable.unpaged()).getContent();
-
-        int totalWorkMinutes = 0;
-        int totalOT = 0;
-
-        for (User emp : employees) {
-            List<EmployeeDayAttendance> attendances = attendanceRepository.findByEmployeeAndDateBetween(
-                    emp, startDate, endDate);
-            totalWorkMinutes += attendances.stream().mapToInt(EmployeeDayAttendance::getTotalWorkMinutes).sum();
-            totalOT += attendances.stream()
-                    .mapToInt(a -> a.getMorningOtMinutes() + a.getEveningOtMinutes())
-                    .sum();
+        long totalTickets = mainTicketRepository.countByScheduledDateBetween(startDate, endDate);
+        long completedTickets = mainTicketRepository.countByScheduledDateBetweenAndStatus(
+                startDate, endDate, JobStatus.COMPLETED);
+
+        long totalEmployees = userRepository.countByRole(UserRole.EMPLOYEE);
+
+        // Work and OT minutes from the pre-aggregated employee day facts; in parallel mode
+        // summed per employee-ID range and added up
+        long totalWorkMinutes = 0;
+        long totalOTMinutes = 0;
+        if (parallelReportExecutor.isEnabled()) {
+            List<EmployeeDayFactTotals> rangeTotals = parallelReportExecutor.mapRanges(
+                    userRepository.findIdsByRole(UserRole.EMPLOYEE),
+                    (fromId, toId) -> List.of(employeeDayFactRepository.sumTotalsForEmployeeRange(
+                            UserRole.EMPLOYEE, fromId, toId, startDate, endDate)));
+            for (EmployeeDayFactTotals totals : rangeTotals) {
+                totalWorkMinutes += totals.getRegularMinutes();
+                totalOTMinutes += totals.getOtMinutes();
+            }
+        } else {
+            EmployeeDayFactTotals totals = employeeDayFactRepository.sumTotals(UserRole.EMPLOYEE, startDate, endDate);
+            totalWorkMinutes = totals.getRegularMinutes();
+            totalOTMinutes = totals.getOtMinutes();
         }
 
-        long completedTickets = tickets.stream().filter(t -> t.getStatus() == JobStatus.COMPLETED).count();
-
         Map<String, Object> result = new HashMap<>();
         result.put("year", year);
         result.put("month", month);
-        result.put("totalTickets", tickets.size());
+        result.put("totalTickets", totalTickets);
         result.put("completedTickets", completedTickets);
-        result.put("totalEmployees", employees.size());
+        result.put("totalEmployees", totalEmployees);
         result.put("totalWorkMinutes", totalWorkMinutes);
-        result.put("totalOTMinutes", totalOT);
-        result.put("completionRate", tickets.size() > 0 ? (completedTickets * 100.0 / tickets.size()) : 0);
+        result.put("totalOTMinutes", totalOTMinutes);
+        result.put("completionRate", totalTickets > 0 ? (completedTickets * 100.0 / totalTickets) : 0);
 
         return result;
     }
@@ -386,10 +396,10 @@ public class ReportService {
         List<TimeTrackingReportResponse> data = getTimeTrackingReport(employeeId, startDate, endDate);
 
         StringBuilder csv = new StringBuilder();
-        csv.append("Employee Name,Date,Day Start,Day End,Work Minutes,Idle Minutes,Travel Minutes,Total Minutes\n");
+        csv.append(TIME_TRACKING_CSV_HEADER);
 
         for (TimeTrackingReportResponse row : data) {
-            csv.append(row.getEmployeeName()).append(",");
+            csv.append(csvField(row.getEmployeeName())).append(",");
             csv.append(row.getDate()).append(",");
             csv.append(row.getDayStartTime()).append(",");
             csv.append(row.getDayEndTime()).append(",");
@@ -399,92 +409,132 @@ public class ReportService {
             csv.append(row.getTotalMinutes()).append("\n");
         }
 
-        return csv.toString().getBytes();
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
     }
 
     public byte[] exportOTReportCSV(Long employeeId, LocalDate startDate, LocalDate endDate) {
         List<OTReportResponse> data = getOTReport(employeeId, startDate, endDate);
 
         StringBuilder csv = new StringBuilder();
-        csv.append("Employee Name,Date,Morning OT (minutes),Evening OT (minutes),Total OT (minutes)\n");
+        csv.append(OT_CSV_HEADER);
 
         for (OTReportResponse row : data) {
-            csv.append(row.getEmployeeName()).append(",");
+            csv.append(csvField(row.getEmployeeName())).append(",");
             csv.append(row.getDate()).append(",");
             csv.append(row.getMorningOtMinutes()).append(",");
             csv.append(row.getEveningOtMinutes()).append(",");
             csv.append(row.getTotalOtMinutes()).append("\n");
         }
 
-        return csv.toString().getBytes();
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
     }
 
-    public Map<String, Object> getDashboardStatistics() {
-        List<MainTicket> allTickets = mainTicketRepository.findAll();
-        List<MiniJobCard> allJobCards = miniJobCardRepository.findAll();
-        List<User> allEmployees = userRepository.findByRole(UserRole.EMPLOYEE,
-                org.springframework.data.domain.Pageable.unpaged()).getContent();
-
-        // Calculate employee counts
-        long totalEmployees = allEmployees.size();
-        long activeEmployees = allEmployees.stream()
-                .filter(emp -> emp.getActive() != null && emp.getActive())
-                .count();
-
-        // Calculate generator count
-        long totalGenerators = generatorRepository.findAll().size();
-
-        // Calculate ticket counts
-        long totalTickets = allTickets.size();
-        long pendingTickets = allTickets.stream()
-                .filter(t -> t.getStatus() == JobStatus.PENDING)
-                .count();
-        long completedTickets = allTickets.stream()
-                .filter(t -> t.getStatus() == JobStatus.COMPLETED)
-                .count();
-
-        // Calculate pending approvals
-        long pendingApprovals = allJobCards.stream()
-                .filter(c -> c.getStatus() == JobStatus.COMPLETED && !c.getApproved())
-                .count();
-
-        // Calculate monthly work and OT minutes
-        LocalDate today = LocalDate.now(timeZoneConfig.getZoneId());
-        LocalDate firstDayOfMonth = today.withDayOfMonth(1);
-        LocalDate lastDayOfMonth = today.withDayOfMonth(today.lengthOfMonth());
-
-        long totalWorkMinutesThisMonth = 0;
-        long totalOTMinutesThisMonth = 0;
-
-        for (User employee : allEmployees) {
-            List<EmployeeDayAttendance> monthlyAttendance =
-                attendanceRepository.findByEmployeeAndDateBetween(employee, firstDayOfMonth, lastDayOfMonth);
-
-            for (EmployeeDayAttendance attendance : monthlyAttendance) {
-                if (attendance.getTotalWorkMinutes() != null) {
-                    totalWorkMinutesThisMonth += attendance.getTotalWorkMinutes();
-                }
-                if (attendance.getMorningOtMinutes() != null) {
-                    totalOTMinutesThisMonth += attendance.getMorningOtMinutes();
-                }
-                if (attendance.getEveningOtMinutes() != null) {
-                    totalOTMinutesThisMonth += attendance.getEveningOtMinutes();
-                }
+    /**
+     * Stream time tracking report as CSV
+     * Rows are read through a database cursor and written straight to the output,
+     * so memory use does not depend on the size of the date range
+     *
+     * @param employeeId Optional employee ID (null for all employees)
+     * @param startDate Report start date
+     * @param endDate Report end date
+     * @param out Destination stream (not closed)
+     */
+    @Transactional(readOnly = true)
+    public void writeTimeTrackingReportCSV(Long employeeId, LocalDate startDate, LocalDate endDate,
+                                           OutputStream out) throws IOException {
+        if (employeeId != null && !userRepository.existsById(employeeId)) {
+            throw new RuntimeException("Employee not found");
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(TIME_TRACKING_CSV_HEADER);
+
+        try (Stream<TimeTrackingDayRow> rows = attendanceRepository.streamTimeTrackingRows(employeeId, null, null, startDate, endDate)) {
+            Iterator<TimeTrackingDayRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                TimeTrackingDayRow row = iterator.next();
+                writer.write(csvField(row.getEmployeeName()));
+                writer.write(',');
+                writer.write(csvField(row.getDate()));
+                writer.write(',');
+                writer.write(csvField(row.getDayStartTime()));
+                writer.write(',');
+                writer.write(csvField(row.getDayEndTime()));
+                writer.write(',');
+                writer.write(csvField(row.getWorkMinutes()));
+                writer.write(',');
+                writer.write(csvField(row.getIdleMinutes()));
+                writer.write(',');
+                writer.write(csvField(row.getTravelMinutes()));
+                writer.write(',');
+                writer.write(csvField(row.getTotalMinutes()));
+                writer.write('\n');
             }
         }
 
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalEmployees", totalEmployees);
-        stats.put("activeEmployees", activeEmployees);
-        stats.put("totalGenerators", totalGenerators);
-        stats.put("totalTickets", totalTickets);
-        stats.put("pendingTickets", pendingTickets);
-        stats.put("completedTickets", completedTickets);
-        stats.put("pendingApprovals", pendingApprovals);
-        stats.put("totalWorkMinutesThisMonth", totalWorkMinutesThisMonth);
-        stats.put("totalOTMinutesThisMonth", totalOTMinutesThisMonth);
-
-        return stats;
+        writer.flush();
+    }
+
+    /**
+     * Stream overtime report as CSV
+     * Rows are read through a database cursor and written straight to the output,
+     * so memory use does not depend on the size of the date range
+     *
+     * @param employeeId Optional employee ID (null for all employees)
+     * @param startDate Report start date
+     * @param endDate Report end date
+     * @param out Destination stream (not closed)
+     */
+    @Transactional(readOnly = true)
+    public void writeOTReportCSV(Long employeeId, LocalDate startDate, LocalDate endDate,
+                                 OutputStream out) throws IOException {
+        if (employeeId != null && !userRepository.existsById(employeeId)) {
+            throw new RuntimeException("Employee not found");
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(OT_CSV_HEADER);
+
+        try (Stream<OTReportRow> rows = attendanceRepository.streamOtRows(employeeId, startDate, endDate)) {
+            Iterator<OTReportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                OTReportRow row = iterator.next();
+                int morningOt = row.getMorningOtMinutes() != null ? row.getMorningOtMinutes() : 0;
+                int eveningOt = row.getEveningOtMinutes() != null ? row.getEveningOtMinutes() : 0;
+                writer.write(csvField(row.getEmployeeName()));
+                writer.write(',');
+                writer.write(csvField(row.getDate()));
+                writer.write(',');
+                writer.write(String.valueOf(morningOt));
+                writer.write(',');
+                writer.write(String.valueOf(eveningOt));
+                writer.write(',');
+                writer.write(String.valueOf(morningOt + eveningOt));
+                writer.write('\n');
+            }
+        }
+
+        writer.flush();
+    }
+
+    /**
+     * Format a value as a CSV field (RFC 4180)
+     * Fields containing separators, quotes or line breaks are quoted, quotes are doubled
+     */
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    public Map<String, Object> getDashboardStatistics() {
+        // Served from live in-memory counters, independent of table sizes
+        return dashboardCounterService.getDashboardStatistics();
     }
 
     /**
@@ -503,6 +553,12 @@ public class ReportService {
      */
     public com.ems.dto.EmployeeWorkReportDTO getEmployeeWorkReport(
             Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return reportCache.get("EMPLOYEE_WORK", employeeId, startDate, endDate,
+                () -> computeEmployeeWorkReport(employeeId, startDate, endDate));
+    }
+
+    private com.ems.dto.EmployeeWorkReportDTO computeEmployeeWorkReport(
+            Long employeeId, LocalDate startDate, LocalDate endDate) {
 
         // Fetch employee
         User employee = userRepository.findById(employeeId)
@@ -512,20 +568,40 @@ public class ReportService {
         List<EmployeeDayAttendance> attendances = attendanceRepository
                 .findByEmployeeAndDateBetween(employee, startDate, endDate);
 
-        // Fetch all mini job cards in date range
-        List<MiniJobCard> allJobCards = miniJobCardRepository
-                .findByEmployee(employee, org.springframework.data.domain.Pageable.unpaged())
-                .getContent()
-                .stream()
-                .filter(jc -> jc.getEndTime() != null &&
-                        !jc.getEndTime().toLocalDate().isBefore(startDate) &&
-                        !jc.getEndTime().toLocalDate().isAfter(endDate))
-                .collect(Collectors.toList());
+        // Fetch mini job cards that ended in the date range
+        List<MiniJobCard> allJobCards = miniJobCardRepository.findEndedByEmployeeBetween(
+                employeeId, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
 
         // Fetch scores for the period
         List<EmployeeScore> scores = employeeScoreRepository
                 .findByEmployeeIdAndWorkDateBetween(employeeId, startDate, endDate);
 
+        // Index everything once: job cards by end day, scores by job card and
+        // score sums/counts by work day. Days are keyed by their offset from startDate.
+        long firstDay = startDate.toEpochDay();
+        int dayCount = (int) (endDate.toEpochDay() - firstDay + 1);
+
+        List<List<MiniJobCard>> jobsByDay = new ArrayList<>(Collections.nCopies(dayCount, null));
+        for (MiniJobCard jobCard : allJobCards) {
+            int day = (int) (jobCard.getEndTime().toLocalDate().toEpochDay() - firstDay);
+            List<MiniJobCard> dayJobs = jobsByDay.get(day);
+            if (dayJobs == null) {
+                dayJobs = new ArrayList<>();
+                jobsByDay.set(day, dayJobs);
+            }
+            dayJobs.add(jobCard);
+        }
+
+        Map<Long, EmployeeScore> scoreByJobCard = new HashMap<>(scores.size() * 2);
+        int[] scoreSumByDay = new int[dayCount];
+        int[] scoreCountByDay = new int[dayCount];
+        for (EmployeeScore score : scores) {
+            scoreByJobCard.putIfAbsent(score.getMiniJobCard().getId(), score);
+            int day = (int) (score.getWorkDate().toEpochDay() - firstDay);
+            scoreSumByDay[day] += score.getWeight();
+            scoreCountByDay[day]++;
+        }
+
         // Build daily records
         List<com.ems.dto.EmployeeWorkReportDTO.DailyWorkRecord> dailyRecords = new ArrayList<>();
         int totalDaysWorked = 0;
@@ -539,19 +615,15 @@ public class ReportService {
 
         for (EmployeeDayAttendance attendance : attendances) {
             LocalDate date = attendance.getDate();
+            int day = (int) (date.toEpochDay() - firstDay);
 
-            // Filter jobs for this specific date
-            List<MiniJobCard> dayJobs = allJobCards.stream()
-                    .filter(jc -> jc.getEndTime().toLocalDate().equals(date))
-                    .collect(Collectors.toList());
+            List<MiniJobCard> dayJobs = jobsByDay.get(day) != null ? jobsByDay.get(day) : List.of();
 
             // Build job details
             List<com.ems.dto.EmployeeWorkReportDTO.JobDetail> jobDetails = new ArrayList<>();
             for (MiniJobCard jobCard : dayJobs) {
                 // Get score for this job card if exists
-                Optional<EmployeeScore> jobScore = scores.stream()
-                        .filter(s -> s.getMiniJobCard().getId().equals(jobCard.getId()))
-                        .findFirst();
+                Optional<EmployeeScore> jobScore = Optional.ofNullable(scoreByJobCard.get(jobCard.getId()));
 
                 com.ems.dto.EmployeeWorkReportDTO.JobDetail jobDetail =
                         com.ems.dto.EmployeeWorkReportDTO.JobDetail.builder()
@@ -589,14 +661,8 @@ public class ReportService {
             }
 
             // Calculate daily score (weight is the score)
-            int dailyScore = scores.stream()
-                    .filter(s -> s.getWorkDate().equals(date))
-                    .mapToInt(EmployeeScore::getWeight) // Weight is the score
-                    .sum();
-
-            long dailyJobCount = scores.stream()
-                    .filter(s -> s.getWorkDate().equals(date))
-                    .count();
+            int dailyScore = scoreSumByDay[day]; // Weight is the score
+            long dailyJobCount = scoreCountByDay[day];
 
             double dailyAverageScore = dailyJobCount > 0
                     ? (double) dailyScore / dailyJobCount
@@ -678,104 +744,77 @@ public class ReportService {
      */
     public List<DailyTimeTrackingReportDTO> getDailyTimeTrackingReport(
             Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return reportCache.get("DAILY_TIME_TRACKING", employeeId, startDate, endDate,
+                () -> computeDailyTimeTrackingReport(employeeId, startDate, endDate));
+    }
 
-        List<User> employees;
-        if (employeeId != null) {
-            User emp = userRepository.findById(employeeId)
-                    .orElseThrow(() -> new RuntimeException("Employee not found"));
-            employees = List.of(emp);
-        } else {
-            employees = userRepository.findByRole(UserRole.EMPLOYEE,
-                    org.springframework.data.domain.Pageable.unpaged()).getContent();
+    private List<DailyTimeTrackingReportDTO> computeDailyTimeTrackingReport(
+            Long employeeId, LocalDate startDate, LocalDate endDate) {
+
+        if (employeeId != null && !userRepository.existsById(employeeId)) {
+            throw new RuntimeException("Employee not found");
         }
 
-        List<DailyTimeTrackingReportDTO> reports = new ArrayList<>();
+        // Parallel mode: contiguous employee-ID ranges, each with its own queries; rows are
+        // ordered by employee ID, so concatenating the ranges keeps the report order
+        if (employeeId == null && parallelReportExecutor.isEnabled()) {
+            return parallelReportExecutor.mapRanges(userRepository.findIdsByRole(UserRole.EMPLOYEE),
+                    (fromId, toId) -> computeDailyTimeTracking(null, fromId, toId, startDate, endDate));
+        }
 
-        for (User employee : employees) {
-            List<EmployeeDayAttendance> attendances = attendanceRepository
-                    .findByEmployeeAndDateBetween(employee, startDate, endDate);
-
-            for (EmployeeDayAttendance attendance : attendances) {
-                LocalDate date = attendance.getDate();
-
-                // Get all job cards for this employee on this date
-                List<MiniJobCard> jobCards = miniJobCardRepository
-                        .findByEmployee(employee, org.springframework.data.domain.Pageable.unpaged())
-                        .getContent()
-                        .stream()
-                        .filter(jc -> jc.getStartTime() != null &&
-                                jc.getStartTime().toLocalDate().equals(date))
-                        .collect(Collectors.toList());
-
-                // Calculate work, idle, and travel time from job status logs
-                int totalWorkMinutes = 0;
-                int totalIdleMinutes = 0;
-                int totalTravelMinutes = 0;
-                String location = "";
-                List<DailyTimeTrackingReportDTO.LocationPoint> locationPath = new ArrayList<>();
-
-                for (MiniJobCard jobCard : jobCards) {
-                    List<JobStatusLog> logs = jobStatusLogRepository
-                            .findByMiniJobCardIdOrderByLoggedAtDesc(jobCard.getId());
-
-                    // Get location from the latest log with location data
-                    if (location.isEmpty() && !logs.isEmpty()) {
-                        for (JobStatusLog log : logs) {
-                            if (log.getLatitude() != null && log.getLongitude() != null) {
-                                // Use generator location as primary location
-                                location = jobCard.getMainTicket().getGenerator().getLocationName();
-                                break;
-                            }
-                        }
-                    }
+        return computeDailyTimeTracking(employeeId, null, null, startDate, endDate);
+    }
 
-                    // Collect all location points from logs (in chronological order)
-                    List<JobStatusLog> reversedLogs = new ArrayList<>(logs);
-                    Collections.reverse(reversedLogs);
-                    for (JobStatusLog log : reversedLogs) {
-                        if (log.getLatitude() != null && log.getLongitude() != null) {
-                            locationPath.add(DailyTimeTrackingReportDTO.LocationPoint.builder()
-                                    .latitude(log.getLatitude())
-                                    .longitude(log.getLongitude())
-                                    .timestamp(log.getLoggedAt())
-                                    .build());
-                        }
-                    }
+    // Daily time tracking of one employee, or of the employees with IDs fromId..toId (both null for no limit)
+    private List<DailyTimeTrackingReportDTO> computeDailyTimeTracking(
+            Long employeeId, Long fromId, Long toId, LocalDate startDate, LocalDate endDate) {
 
-                    // Calculate time in each status
-                    for (int i = logs.size() - 1; i > 0; i--) {
-                        JobStatusLog currentLog = logs.get(i);
-                        JobStatusLog nextLog = logs.get(i - 1);
-
-                        long minutes = java.time.Duration.between(
-                                currentLog.getLoggedAt(), nextLog.getLoggedAt()).toMinutes();
-
-                        if (currentLog.getNewStatus() == JobStatus.STARTED) {
-                            totalWorkMinutes += minutes;
-                        } else if (currentLog.getNewStatus() == JobStatus.ON_HOLD) {
-                            totalIdleMinutes += minutes;
-                        } else if (currentLog.getNewStatus() == JobStatus.TRAVELING) {
-                            totalTravelMinutes += minutes;
-                        }
-                    }
-                }
+        // Work, idle and travel minutes per employee-day (one query)
+        List<TimeTrackingDayRow> rows = attendanceRepository.findTimeTrackingRows(
+                employeeId, fromId, toId, startDate, endDate);
 
-                DailyTimeTrackingReportDTO report = DailyTimeTrackingReportDTO.builder()
-                        .employeeId(employee.getId())
-                        .employeeName(employee.getFullName())
-                        .date(date)
-                        .startTime(attendance.getDayStartTime())
-                        .endTime(attendance.getDayEndTime())
-                        .location(location.isEmpty() ? "N/A" : location)
-                        .dailyWorkingMinutes(totalWorkMinutes)
-                        .idleMinutes(totalIdleMinutes)
-                        .travelMinutes(totalTravelMinutes)
-                        .totalMinutes(attendance.getTotalWorkMinutes())
-                        .locationPath(locationPath)
-                        .build();
+        // Geotagged status logs for the same period (one query), grouped by employee-day
+        Map<String, List<TimeTrackingLocationRow>> locationsByDay = new HashMap<>();
+        for (TimeTrackingLocationRow location : jobStatusLogRepository.findTimeTrackingLocations(
+                employeeId, fromId, toId, startDate, endDate)) {
+            locationsByDay.computeIfAbsent(location.getEmployeeId() + "-" + location.getWorkDate(), k -> new ArrayList<>())
+                    .add(location);
+        }
 
-                reports.add(report);
+        List<DailyTimeTrackingReportDTO> reports = new ArrayList<>(rows.size());
+
+        for (TimeTrackingDayRow row : rows) {
+            List<TimeTrackingLocationRow> locations = locationsByDay.getOrDefault(
+                    row.getEmployeeId() + "-" + row.getDate(), List.of());
+
+            // Use generator location of the first job card with location data as primary location
+            String location = locations.isEmpty() ? "N/A" : locations.get(0).getLocationName();
+
+            // Location points are already in chronological order per job card
+            List<DailyTimeTrackingReportDTO.LocationPoint> locationPath = new ArrayList<>(locations.size());
+            for (TimeTrackingLocationRow point : locations) {
+                locationPath.add(DailyTimeTrackingReportDTO.LocationPoint.builder()
+                        .latitude(point.getLatitude())
+                        .longitude(point.getLongitude())
+                        .timestamp(point.getLoggedAt())
+                        .build());
             }
+
+            DailyTimeTrackingReportDTO report = DailyTimeTrackingReportDTO.builder()
+                    .employeeId(row.getEmployeeId())
+                    .employeeName(row.getEmployeeName())
+                    .date(row.getDate())
+                    .startTime(row.getDayStartTime())
+                    .endTime(row.getDayEndTime())
+                    .location(location)
+                    .dailyWorkingMinutes(row.getWorkMinutes())
+                    .idleMinutes(row.getIdleMinutes())
+                    .travelMinutes(row.getTravelMinutes())
+                    .totalMinutes(row.getTotalMinutes())
+                    .locationPath(locationPath)
+                    .build();
+
+            reports.add(report);
         }
 
         return reports;
@@ -791,6 +830,12 @@ public class ReportService {
      */
     public List<EmployeeDailyWorkTimeReportDTO> getEmployeeDailyWorkTimeReport(
             Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return reportCache.get("EMPLOYEE_DAILY_WORK_TIME", employeeId, startDate, endDate,
+                () -> computeEmployeeDailyWorkTimeReport(employeeId, startDate, endDate));
+    }
+
+    private List<EmployeeDailyWorkTimeReportDTO> computeEmployeeDailyWorkTimeReport(
+            Long employeeId, LocalDate startDate, LocalDate endDate) {
 
         User employee = userRepository.findById(employeeId)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
@@ -0,0 +1,338 @@
+package com.ems.service;
+
+import com.ems.dto.MainTicketRequest;
+import com.ems.dto.TicketImportResult;
+import com.ems.entity.*;
+import com.ems.repository.GeneratorRepository;
+import com.ems.repository.MainTicketRepository;
+import com.ems.repository.MiniJobCardRepository;
+import com.ems.repository.TicketAssignmentRepository;
+import com.ems.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of main tickets (e.g. quarterly maintenance rounds)
+ *
+ * All generators and employees referenced by the import are loaded up front in two queries
+ * and every row is validated against them. Valid rows are written in chunks, each chunk in
+ * its own transaction with batched inserts. If a chunk fails in the database its rows are
+ * retried one by one, so a bad row only fails itself. The result lists what each chunk
+ * imported so callers can see how far a partially failed import got.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of(
+            "generatorId", "title", "description", "type", "weight",
+            "scheduledDate", "scheduledTime", "employeeIds");
+
+    private final TicketService ticketService;
+    private final MainTicketRepository mainTicketRepository;
+    private final MiniJobCardRepository miniJobCardRepository;
+    private final TicketAssignmentRepository ticketAssignmentRepository;
+    private final GeneratorRepository generatorRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final Validator validator;
+
+    @Value("${app.tickets.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.tickets.import.max-rows:10000}")
+    private int maxRows;
+
+    /**
+     * Import tickets from a CSV file
+     *
+     * The first line is a header naming the columns generatorId, title, description, type,
+     * weight, scheduledDate (yyyy-MM-dd), scheduledTime (HH:mm) and employeeIds, where
+     * employeeIds is a ';' separated list. Quoted fields may span lines (RFC 4180). Records
+     * that cannot be parsed are reported as errors with the file line they start on.
+     */
+    public TicketImportResult importCsv(InputStream csv, String createdBy) {
+        List<MainTicketRequest> requests = new ArrayList<>();
+        List<Integer> lines = new ArrayList<>();
+        Map<Integer, String> parseErrors = new HashMap<>();
+
+        try (Reader input = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            CsvRecordReader reader = new CsvRecordReader(input);
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new RuntimeException("CSV file is empty");
+            }
+            Map<String, Integer> columns = parseHeader(header);
+
+            while (true) {
+                List<String> record;
+                try {
+                    record = reader.next();
+                } catch (RuntimeException e) {
+                    // An unclosed quote swallows the rest of the file, so reading stops here
+                    requests.add(null);
+                    lines.add(reader.getRecordLine());
+                    parseErrors.put(requests.size(), e.getMessage());
+                    break;
+                }
+                if (record == null) {
+                    break;
+                }
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                int row = requests.size() + 1;
+                if (row > maxRows) {
+                    throw new RuntimeException("Import is limited to " + maxRows + " tickets per file");
+                }
+                lines.add(reader.getRecordLine());
+                try {
+                    requests.add(parseRow(record, columns));
+                } catch (RuntimeException e) {
+                    requests.add(null);
+                    parseErrors.put(row, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read CSV file: " + e.getMessage());
+        }
+
+        return importTickets(requests, lines, parseErrors, createdBy);
+    }
+
+    /**
+     * Import tickets from already parsed requests (JSON array)
+     */
+    public TicketImportResult importTickets(List<MainTicketRequest> requests, String createdBy) {
+        if (requests.size() > maxRows) {
+            throw new RuntimeException("Import is limited to " + maxRows + " tickets per request");
+        }
+        return importTickets(requests, null, Map.of(), createdBy);
+    }
+
+    // lines holds the CSV file line of each row, null for JSON
+    private TicketImportResult importTickets(List<MainTicketRequest> requests, List<Integer> lines,
+                                             Map<Integer, String> parseErrors, String createdBy) {
+        // Preload every referenced generator and employee
+        Map<Long, Generator> generators = generatorRepository.findAllById(requests.stream()
+                        .filter(Objects::nonNull)
+                        .map(MainTicketRequest::getGeneratorId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Generator::getId, Function.identity()));
+
+        Map<Long, User> users = userRepository.findAllById(requests.stream()
+                        .filter(Objects::nonNull)
+                        .filter(request -> request.getEmployeeIds() != null)
+                        .flatMap(request -> request.getEmployeeIds().stream())
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // Validate all rows before writing anything
+        List<TicketImportResult.RowError> errors = new ArrayList<>();
+        List<ImportRow> validRows = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            int row = i + 1;
+            if (parseErrors.containsKey(row)) {
+                errors.add(rowError(row, lines, parseErrors.get(row)));
+                continue;
+            }
+            try {
+                validRows.add(validate(row, requests.get(i), generators, users));
+            } catch (RuntimeException e) {
+                errors.add(rowError(row, lines, e.getMessage()));
+            }
+        }
+
+        // Write valid rows in chunks, one transaction per chunk
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        List<String> ticketNumbers = new ArrayList<>(validRows.size());
+        List<TicketImportResult.ChunkResult> chunks = new ArrayList<>();
+        for (int from = 0; from < validRows.size(); from += chunkSize) {
+            List<ImportRow> chunk = validRows.subList(from, Math.min(from + chunkSize, validRows.size()));
+            long started = System.currentTimeMillis();
+            int importedBefore = ticketNumbers.size();
+            try {
+                ticketNumbers.addAll(transaction.execute(status -> writeChunk(chunk, createdBy)));
+            } catch (RuntimeException chunkFailure) {
+                log.warn("Ticket import chunk starting at row {} failed, retrying rows individually: {}",
+                        chunk.get(0).row, chunkFailure.getMessage());
+                for (ImportRow importRow : chunk) {
+                    try {
+                        ticketNumbers.addAll(transaction.execute(status -> writeChunk(List.of(importRow), createdBy)));
+                    } catch (RuntimeException rowFailure) {
+                        errors.add(rowError(importRow.row, lines, "Failed to save: " + rowFailure.getMessage()));
+                    }
+                }
+            }
+
+            int imported = ticketNumbers.size() - importedBefore;
+            chunks.add(TicketImportResult.ChunkResult.builder()
+                    .firstRow(chunk.get(0).row)
+                    .lastRow(chunk.get(chunk.size() - 1).row)
+                    .processedCount(from + chunk.size())
+                    .importedCount(imported)
+                    .failedCount(chunk.size() - imported)
+                    .durationMillis(System.currentTimeMillis() - started)
+                    .build());
+            log.info("Ticket import by {}: processed {}/{} valid rows", createdBy,
+                    from + chunk.size(), validRows.size());
+        }
+
+        errors.sort(Comparator.comparingInt(TicketImportResult.RowError::getRow));
+
+        return TicketImportResult.builder()
+                .totalRows(requests.size())
+                .importedCount(ticketNumbers.size())
+                .failedCount(errors.size())
+                .validCount(validRows.size())
+                .ticketNumbers(ticketNumbers)
+                .chunks(chunks)
+                .errors(errors)
+                .build();
+    }
+
+    private List<String> writeChunk(List<ImportRow> chunk, String createdBy) {
+        List<MainTicket> tickets = new ArrayList<>(chunk.size());
+        List<TicketAssignment> assignments = new ArrayList<>();
+        List<MiniJobCard> miniJobCards = new ArrayList<>();
+
+        for (ImportRow importRow : chunk) {
+            MainTicket ticket = ticketService.buildMainTicket(importRow.request, importRow.generator, createdBy);
+            ticket.setPendingCards(importRow.employees.size());
+            tickets.add(ticket);
+            for (User employee : importRow.employees) {
+                assignments.add(ticketService.buildAssignment(ticket, employee));
+                miniJobCards.add(ticketService.buildMiniJobCard(ticket, employee));
+            }
+        }
+
+        mainTicketRepository.saveAll(tickets);
+        ticketAssignmentRepository.saveAll(assignments);
+        miniJobCardRepository.saveAll(miniJobCards);
+
+        return tickets.stream().map(MainTicket::getTicketNumber).collect(Collectors.toList());
+    }
+
+    private ImportRow validate(int row, MainTicketRequest request, Map<Long, Generator> generators,
+                               Map<Long, User> users) {
+        if (request == null) {
+            throw new RuntimeException("Row is empty");
+        }
+
+        Set<ConstraintViolation<MainTicketRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new RuntimeException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+
+        Generator generator = generators.get(request.getGeneratorId());
+        if (generator == null) {
+            throw new RuntimeException("Generator not found: " + request.getGeneratorId());
+        }
+
+        List<User> employees = new ArrayList<>();
+        for (Long employeeId : new LinkedHashSet<>(request.getEmployeeIds())) {
+            User employee = users.get(employeeId);
+            if (employee == null) {
+                throw new RuntimeException("Employee not found: " + employeeId);
+            }
+            if (employee.getRole() != UserRole.EMPLOYEE) {
+                throw new RuntimeException("User " + employee.getUsername() + " is not an employee");
+            }
+            employees.add(employee);
+        }
+
+        return new ImportRow(row, request, generator, employees);
+    }
+
+    private Map<String, Integer> parseHeader(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            for (String column : CSV_COLUMNS) {
+                if (column.equalsIgnoreCase(header.get(i).trim())) {
+                    columns.put(column, i);
+                }
+            }
+        }
+        if (!columns.containsKey("generatorId") || !columns.containsKey("employeeIds")) {
+            throw new RuntimeException("CSV header must include the columns " + String.join(",", CSV_COLUMNS));
+        }
+        return columns;
+    }
+
+    private MainTicketRequest parseRow(List<String> fields, Map<String, Integer> columns) {
+        MainTicketRequest request = new MainTicketRequest();
+        request.setGeneratorId(parse(fields, columns, "generatorId", Long::valueOf));
+        request.setTitle(field(fields, columns, "title"));
+        request.setDescription(field(fields, columns, "description"));
+        request.setType(parse(fields, columns, "type", value -> JobCardType.valueOf(value.toUpperCase())));
+        request.setWeight(parse(fields, columns, "weight", Integer::valueOf));
+        request.setScheduledDate(parse(fields, columns, "scheduledDate", LocalDate::parse));
+        request.setScheduledTime(parse(fields, columns, "scheduledTime", LocalTime::parse));
+        request.setEmployeeIds(parse(fields, columns, "employeeIds", value -> Arrays.stream(value.split(";"))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .map(Long::valueOf)
+                .collect(Collectors.toList())));
+        return request;
+    }
+
+    private String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private <T> T parse(List<String> fields, Map<String, Integer> columns, String column, Function<String, T> parser) {
+        String value = field(fields, columns, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static TicketImportResult.RowError rowError(int row, List<Integer> lines, String message) {
+        return TicketImportResult.RowError.builder()
+                .row(row)
+                .line(lines != null ? lines.get(row - 1) : null)
+                .message(message)
+                .build();
+    }
+
+    private record ImportRow(int row, MainTicketRequest request, Generator generator, List<User> employees) {
+    }
+}
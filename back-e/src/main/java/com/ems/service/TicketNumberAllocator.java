@@ -0,0 +1,82 @@
+package com.ems.service;
+
+import com.ems.config.TimeZoneConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Year;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out ticket numbers such as TKT-2026-000123
+ *
+ * Numbers come from the ticket_number_seq database sequence, which advances by BLOCK_SIZE per
+ * call, so every nextval reserves a block of numbers for this instance alone. Numbers within a
+ * block are handed out from memory without locking; only fetching the next block is
+ * synchronized. Numbers are unique across all app instances and increase with creation order
+ * within an instance. Blocks left unused at shutdown or numbers of rolled-back tickets leave gaps.
+ */
+@Component
+@Slf4j
+public class TicketNumberAllocator {
+
+    // Must stay the same for all instances: it is the INCREMENT BY of the shared sequence
+    private static final int BLOCK_SIZE = 100;
+
+    private static final String SEQUENCE = "ticket_number_seq";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TimeZoneConfig timeZoneConfig;
+
+    private volatile Block block = new Block(0, 0);
+
+    @PostConstruct
+    public void createSequence() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE +
+                " START WITH 1 INCREMENT BY " + BLOCK_SIZE);
+    }
+
+    /**
+     * Next ticket number, e.g. TKT-2026-000123
+     */
+    public String nextTicketNumber() {
+        return String.format("TKT-%d-%06d", Year.now(timeZoneConfig.getZoneId()).getValue(), nextNumber());
+    }
+
+    private long nextNumber() {
+        while (true) {
+            Block current = block;
+            long number = current.next.getAndIncrement();
+            if (number < current.end) {
+                return number;
+            }
+            reserveBlock(current);
+        }
+    }
+
+    private synchronized void reserveBlock(Block exhausted) {
+        if (block != exhausted) {
+            // Another thread already reserved a fresh block
+            return;
+        }
+        Long start = jdbcTemplate.queryForObject("SELECT nextval('" + SEQUENCE + "')", Long.class);
+        block = new Block(start, start + BLOCK_SIZE);
+        log.debug("Reserved ticket numbers {} to {}", start, start + BLOCK_SIZE - 1);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package com.ems.service;
 
 import com.ems.config.TimeZoneConfig;
+import com.ems.dto.ApprovalStatusCount;
+import com.ems.dto.CursorPage;
 import com.ems.dto.EmployeeDashboardResponse;
 import com.ems.dto.MainTicketRequest;
 import com.ems.dto.StatusUpdateRequest;
+import com.ems.dto.TicketCardCounts;
 import com.ems.entity.*;
 import com.ems.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +26,13 @@ import java.util.stream.Collectors;
 
 @Service
 public class TicketService {
+
+    // Statuses that count as the employee's single active ticket for the day
+    private static final Set<JobStatus> ACTIVE_STATUSES =
+            EnumSet.of(JobStatus.TRAVELING, JobStatus.STARTED, JobStatus.ON_HOLD);
+
+    private static final String ACTIVE_TICKET_MESSAGE =
+            "You already have an active ticket in progress. Please complete or cancel it before starting another ticket.";
     
     @Autowired
     private MainTicketRepository mainTicketRepository;
@@ -55,13 +67,50 @@ public class TicketService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private EmployeeDayFactService employeeDayFactService;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private OptimisticRetryExecutor optimisticRetryExecutor;
+
+    @Autowired
+    private TicketNumberAllocator ticketNumberAllocator;
+
     @Transactional
     public MainTicket createMainTicket(MainTicketRequest request, String createdBy) {
         Generator generator = generatorRepository.findById(request.getGeneratorId())
                 .orElseThrow(() -> new RuntimeException("Generator not found"));
         
+        // Load all employees in one query, then insert assignments and job cards as JDBC batches
+        List<User> employees = findEmployees(request.getEmployeeIds());
+
+        MainTicket mainTicket = buildMainTicket(request, generator, createdBy);
+        mainTicket.setPendingCards(employees.size());
+        mainTicket = mainTicketRepository.save(mainTicket);
+
+        List<TicketAssignment> assignments = new ArrayList<>(employees.size());
+        List<MiniJobCard> miniJobCards = new ArrayList<>(employees.size());
+
+        for (User employee : employees) {
+            assignments.add(buildAssignment(mainTicket, employee));
+            miniJobCards.add(buildMiniJobCard(mainTicket, employee));
+        }
+
+        ticketAssignmentRepository.saveAll(assignments);
+        miniJobCardRepository.saveAll(miniJobCards);
+        
+        return mainTicket;
+    }
+    
+    /**
+     * New PENDING ticket from a request (not saved)
+     */
+    public MainTicket buildMainTicket(MainTicketRequest request, Generator generator, String createdBy) {
         MainTicket mainTicket = new MainTicket();
-        mainTicket.setTicketNumber("TKT-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        mainTicket.setTicketNumber(ticketNumberAllocator.nextTicketNumber());
         mainTicket.setGenerator(generator);
         mainTicket.setTitle(request.getTitle());
         mainTicket.setDescription(request.getDescription());
@@ -71,37 +120,69 @@ public class TicketService {
         mainTicket.setScheduledTime(request.getScheduledTime());
         mainTicket.setCreatedBy(createdBy);
         mainTicket.setStatus(JobStatus.PENDING);
-        
-        mainTicket = mainTicketRepository.save(mainTicket);
-        
-        for (Long employeeId : request.getEmployeeIds()) {
-            User employee = userRepository.findById(employeeId)
-                    .orElseThrow(() -> new RuntimeException("Employee not found: " + employeeId));
-            
+        return mainTicket;
+    }
+
+    public TicketAssignment buildAssignment(MainTicket mainTicket, User employee) {
+        TicketAssignment assignment = new TicketAssignment();
+        assignment.setMainTicket(mainTicket);
+        assignment.setEmployee(employee);
+        return assignment;
+    }
+
+    public MiniJobCard buildMiniJobCard(MainTicket mainTicket, User employee) {
+        MiniJobCard miniJobCard = new MiniJobCard();
+        miniJobCard.setMainTicket(mainTicket);
+        miniJobCard.setEmployee(employee);
+        miniJobCard.setStatus(JobStatus.PENDING);
+        miniJobCard.setApproved(false);
+        miniJobCard.setWorkMinutes(0);
+        return miniJobCard;
+    }
+
+    /**
+     * Load employees by ID in one query, in request order
+     * Fails if any ID is unknown or does not belong to an employee
+     */
+    private List<User> findEmployees(Collection<Long> employeeIds) {
+        Map<Long, User> usersById = userRepository.findAllById(employeeIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+
+        List<User> employees = new ArrayList<>(employeeIds.size());
+        for (Long employeeId : new LinkedHashSet<>(employeeIds)) {
+            User employee = usersById.get(employeeId);
+            if (employee == null) {
+                throw new RuntimeException("Employee not found: " + employeeId);
+            }
             if (employee.getRole() != UserRole.EMPLOYEE) {
                 throw new RuntimeException("User " + employee.getUsername() + " is not an employee");
             }
-            
-            TicketAssignment assignment = new TicketAssignment();
-            assignment.setMainTicket(mainTicket);
-            assignment.setEmployee(employee);
-            ticketAssignmentRepository.save(assignment);
-            
-            MiniJobCard miniJobCard = new MiniJobCard();
-            miniJobCard.setMainTicket(mainTicket);
-            miniJobCard.setEmployee(employee);
-            miniJobCard.setStatus(JobStatus.PENDING);
-            miniJobCard.setApproved(false);
-            miniJobCard.setWorkMinutes(0);
-            miniJobCardRepository.save(miniJobCard);
+            employees.add(employee);
         }
-        
-        return mainTicket;
+        return employees;
     }
-    
+
     public Page<MainTicket> getAllMainTickets(Pageable pageable) {
         return mainTicketRepository.findAll(pageable);
     }
+
+    /**
+     * All tickets newest first, one keyset slice at a time
+     *
+     * @param cursor nextCursor of the previous slice, null or blank for the first slice
+     * @param size Slice size
+     */
+    public CursorPage<MainTicket> getAllMainTicketsByCursor(String cursor, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<MainTicket> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = mainTicketRepository.findLatestFirst(limit);
+        } else {
+            CursorPage.Cursor after = CursorPage.decodeCursor(cursor);
+            rows = mainTicketRepository.findLatestBefore(after.sortKeyAsDateTime(), after.id(), limit);
+        }
+        return CursorPage.of(rows, size, ticket -> CursorPage.encodeCursor(ticket.getCreatedAt(), ticket.getId()));
+    }
     
     public MainTicket getMainTicketById(Long id) {
         return mainTicketRepository.findById(id)
@@ -112,8 +193,16 @@ public class TicketService {
         return miniJobCardRepository.findByMainTicketId(mainTicketId);
     }
     
-    @Transactional
+    /**
+     * Apply an employee's status change to their job card. On a concurrent update of the card
+     * or its ticket the change is re-read and re-validated before it is retried.
+     */
     public MiniJobCard updateJobStatus(Long miniJobCardId, StatusUpdateRequest request, String employeeUsername) {
+        return optimisticRetryExecutor.execute("Job status update",
+                () -> applyJobStatusUpdate(miniJobCardId, request, employeeUsername));
+    }
+
+    private MiniJobCard applyJobStatusUpdate(Long miniJobCardId, StatusUpdateRequest request, String employeeUsername) {
         MiniJobCard miniJobCard = miniJobCardRepository.findById(miniJobCardId)
                 .orElseThrow(() -> new RuntimeException("Mini job card not found"));
 
@@ -148,17 +237,12 @@ public class TicketService {
             request.getNewStatus() == JobStatus.STARTED ||
             request.getNewStatus() == JobStatus.ON_HOLD) {
 
-            // Check if there's already another active ticket scheduled for TODAY
-            List<MiniJobCard> allEmployeeCards = miniJobCardRepository.findByEmployee(employee, Pageable.unpaged()).getContent();
-            boolean hasActiveTicket = allEmployeeCards.stream()
-                    .filter(card -> !card.getId().equals(miniJobCardId)) // Exclude current ticket
-                    .filter(card -> card.getMainTicket().getScheduledDate().equals(today)) // Only check tickets scheduled for today
-                    .anyMatch(card -> card.getStatus() == JobStatus.TRAVELING ||
-                                     card.getStatus() == JobStatus.STARTED ||
-                                     card.getStatus() == JobStatus.ON_HOLD);
+            // Check if there's already another active ticket scheduled for TODAY (indexed lookup)
+            boolean hasActiveTicket = miniJobCardRepository.existsByEmployeeIdAndScheduledDateAndStatusInAndIdNot(
+                    employee.getId(), today, ACTIVE_STATUSES, miniJobCardId);
 
             if (hasActiveTicket) {
-                throw new RuntimeException("You already have an active ticket in progress. Please complete or cancel it before starting another ticket.");
+                throw new RuntimeException(ACTIVE_TICKET_MESSAGE);
             }
         }
 
@@ -166,6 +250,9 @@ public class TicketService {
         validateLocationData(request.getLatitude(), request.getLongitude());
 
         LocalDateTime now = LocalDateTime.now(timeZoneConfig.getZoneId());
+
+        closeStatusSpan(miniJobCard, now);
+        invalidateCachedReports(miniJobCard);
         
         JobStatusLog log = new JobStatusLog();
         log.setMiniJobCard(miniJobCard);
@@ -181,6 +268,7 @@ public class TicketService {
         logService.logStatusUpdate(employee, miniJobCard, miniJobCard.getStatus(), request.getNewStatus(),
                 request.getLatitude(), request.getLongitude());
 
+        JobStatus previousStatus = miniJobCard.getStatus();
         miniJobCard.setStatus(request.getNewStatus());
         
         if (request.getNewStatus() == JobStatus.STARTED && miniJobCard.getStartTime() == null) {
@@ -189,56 +277,128 @@ public class TicketService {
         
         if (request.getNewStatus() == JobStatus.COMPLETED && miniJobCard.getEndTime() == null) {
             miniJobCard.setEndTime(now);
-            calculateWorkMinutes(miniJobCard);
+        }
+
+        if (request.getNewStatus() == JobStatus.COMPLETED) {
+            employeeDayFactService.recordJobCompleted(miniJobCard, 1);
         }
         
-        miniJobCard = miniJobCardRepository.save(miniJobCard);
-        updateMainTicketStatus(miniJobCard.getMainTicket().getId());
+        try {
+            // Flush now so a concurrent activation caught by the unique index fails here
+            miniJobCard = miniJobCardRepository.saveAndFlush(miniJobCard);
+        } catch (DataIntegrityViolationException e) {
+            if (isActivePerDayViolation(e)) {
+                throw new RuntimeException(ACTIVE_TICKET_MESSAGE);
+            }
+            throw e;
+        }
+        moveCardCount(miniJobCard.getMainTicket(), previousStatus, request.getNewStatus());
+        refreshMainTicketStatus(miniJobCard.getMainTicket());
         
         return miniJobCard;
     }
     
-    private void calculateWorkMinutes(MiniJobCard miniJobCard) {
-        List<JobStatusLog> logs = jobStatusLogRepository.findByMiniJobCardIdOrderByLoggedAtDesc(miniJobCard.getId());
-        
-        int totalWorkMinutes = 0;
-        LocalDateTime startedTime = null;
-        
-        for (int i = logs.size() - 1; i >= 0; i--) {
-            JobStatusLog log = logs.get(i);
-            
-            if (log.getNewStatus() == JobStatus.STARTED) {
-                startedTime = log.getLoggedAt();
-            } else if ((log.getNewStatus() == JobStatus.ON_HOLD || log.getNewStatus() == JobStatus.COMPLETED) && startedTime != null) {
-                long minutes = Duration.between(startedTime, log.getLoggedAt()).toMinutes();
-                totalWorkMinutes += minutes;
-                startedTime = null;
-            }
+    /**
+     * Close the span of the status a job card is leaving: add it to the card's running
+     * per-status minutes and to the daily facts, and start the next status at now
+     */
+    private void closeStatusSpan(MiniJobCard miniJobCard, LocalDateTime now) {
+        LocalDateTime statusSince = miniJobCard.getStatusSince();
+        if (statusSince == null && ACTIVE_STATUSES.contains(miniJobCard.getStatus())) {
+            // Card predates status tracking and has not been backfilled yet
+            statusSince = jobStatusLogRepository.findFirstByMiniJobCardIdOrderByLoggedAtDescIdDesc(miniJobCard.getId())
+                    .map(JobStatusLog::getLoggedAt)
+                    .orElse(null);
+        }
+        if (statusSince != null) {
+            employeeDayFactService.recordStatusSpan(miniJobCard, miniJobCard.getStatus(), statusSince, now);
+            miniJobCard.addStatusMinutes(miniJobCard.getStatus(), (int) Duration.between(statusSince, now).toMinutes());
+        }
+        miniJobCard.setStatusSince(now);
+    }
+
+    /**
+     * Invalidate cached reports that can show the job card: its scheduled, start, end and
+     * creation days, which are the days the reports attribute a card to
+     */
+    private void invalidateCachedReports(MiniJobCard card) {
+        Long employeeId = card.getEmployee().getId();
+        reportCache.invalidate(employeeId, card.getScheduledDate());
+        if (card.getStartTime() != null) {
+            reportCache.invalidate(employeeId, card.getStartTime().toLocalDate());
+        }
+        if (card.getEndTime() != null) {
+            reportCache.invalidate(employeeId, card.getEndTime().toLocalDate());
+        }
+        if (card.getCreatedAt() != null) {
+            reportCache.invalidate(employeeId, card.getCreatedAt().toLocalDate());
         }
-        
-        miniJobCard.setWorkMinutes(totalWorkMinutes);
     }
-    
-    private void updateMainTicketStatus(Long mainTicketId) {
-        List<MiniJobCard> miniJobCards = miniJobCardRepository.findByMainTicketId(mainTicketId);
-        MainTicket mainTicket = mainTicketRepository.findById(mainTicketId)
-                .orElseThrow(() -> new RuntimeException("Main ticket not found"));
 
-        boolean allCompleted = miniJobCards.stream()
-                .allMatch(mjc -> mjc.getStatus() == JobStatus.COMPLETED || mjc.getStatus() == JobStatus.CANCEL);
+    private static boolean isActivePerDayViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(MiniJobCard.ACTIVE_PER_DAY_INDEX);
+    }
 
-        boolean anyStarted = miniJobCards.stream()
-                .anyMatch(mjc -> mjc.getStatus() == JobStatus.STARTED ||
-                                mjc.getStatus() == JobStatus.TRAVELING ||
-                                mjc.getStatus() == JobStatus.ON_HOLD);
+    /**
+     * Move one job card between the ticket's per-status counts (from is null for a new card,
+     * to is null for a deleted one)
+     */
+    private void moveCardCount(MainTicket mainTicket, JobStatus from, JobStatus to) {
+        Map<JobStatus, Integer> delta = new EnumMap<>(JobStatus.class);
+        if (from != null) {
+            delta.merge(from, -1, Integer::sum);
+        }
+        if (to != null) {
+            delta.merge(to, 1, Integer::sum);
+        }
+        adjustCardCounts(mainTicket, delta);
+    }
 
-        if (allCompleted) {
+    /**
+     * Apply per-status deltas to the ticket's job card counts with one atomic UPDATE,
+     * and copy the resulting counts onto the entity
+     */
+    private void adjustCardCounts(MainTicket mainTicket, Map<JobStatus, Integer> delta) {
+        if (delta.values().stream().allMatch(d -> d == 0)) {
+            return;
+        }
+        TicketCardCounts counts = mainTicketRepository.adjustCardCounts(mainTicket.getId(),
+                delta.getOrDefault(JobStatus.PENDING, 0),
+                delta.getOrDefault(JobStatus.TRAVELING, 0),
+                delta.getOrDefault(JobStatus.STARTED, 0),
+                delta.getOrDefault(JobStatus.ON_HOLD, 0),
+                delta.getOrDefault(JobStatus.COMPLETED, 0),
+                delta.getOrDefault(JobStatus.CANCEL, 0));
+
+        mainTicket.setPendingCards(counts.getPendingCards());
+        mainTicket.setTravelingCards(counts.getTravelingCards());
+        mainTicket.setStartedCards(counts.getStartedCards());
+        mainTicket.setOnHoldCards(counts.getOnHoldCards());
+        mainTicket.setCompletedCards(counts.getCompletedCards());
+        mainTicket.setCancelledCards(counts.getCancelledCards());
+    }
+
+    /**
+     * Derive the ticket status from its job card counts: COMPLETED once every card is completed
+     * or cancelled, STARTED while any card is traveling, started or on hold. The ticket row is
+     * only written when the status actually changes.
+     */
+    private void refreshMainTicketStatus(MainTicket mainTicket) {
+        int inProgress = mainTicket.getTravelingCards() + mainTicket.getStartedCards() + mainTicket.getOnHoldCards();
+
+        if (inProgress + mainTicket.getPendingCards() == 0) {
             mainTicket.setStatus(JobStatus.COMPLETED);
-        } else if (anyStarted) {
+        } else if (inProgress > 0) {
             mainTicket.setStatus(JobStatus.STARTED);
         }
+    }
 
-        mainTicketRepository.save(mainTicket);
+    /**
+     * Re-derive the status of several main tickets from their job card counts
+     */
+    public void refreshMainTicketStatuses(Collection<MainTicket> mainTickets) {
+        mainTickets.forEach(this::refreshMainTicketStatus);
     }
 
     // Manual notification method - called by admin from UI
@@ -316,6 +476,10 @@ public class TicketService {
         if (miniJobCard.getStatus() != JobStatus.COMPLETED) {
             throw new RuntimeException("Can only approve completed job cards");
         }
+
+        if (!miniJobCard.getApproved()) {
+            employeeDayFactService.recordJobApproved(miniJobCard, 1);
+        }
         
         miniJobCard.setApproved(true);
         return miniJobCardRepository.save(miniJobCard);
@@ -376,7 +540,10 @@ public class TicketService {
         employeeScore.setApprovedBy(adminUsername);
         employeeScore.setApprovedAt(LocalDateTime.now(timeZoneConfig.getZoneId()));
 
-        return employeeScoreRepository.save(employeeScore);
+        EmployeeScore saved = employeeScoreRepository.save(employeeScore);
+        employeeDayFactService.recordScoreChange(saved.getEmployee().getId(), saved.getWorkDate(), saved.getWeight());
+
+        return saved;
     }
     
     public List<JobStatusLog> getJobStatusLogs(Long miniJobCardId) {
@@ -388,26 +555,8 @@ public class TicketService {
         User employee = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
 
-        // Get all job cards and sort by scheduled date and time (priority ordering)
-        List<MiniJobCard> allCards = miniJobCardRepository.findByEmployee(employee, Pageable.unpaged()).getContent();
-        List<MiniJobCard> sortedCards = allCards.stream()
-                .sorted((a, b) -> {
-                    // Sort by scheduled date first, then by scheduled time
-                    int dateCompare = a.getMainTicket().getScheduledDate()
-                            .compareTo(b.getMainTicket().getScheduledDate());
-                    if (dateCompare != 0) {
-                        return dateCompare;
-                    }
-                    return a.getMainTicket().getScheduledTime()
-                            .compareTo(b.getMainTicket().getScheduledTime());
-                })
-                .collect(Collectors.toList());
-
-        // Apply pagination to sorted list
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), sortedCards.size());
-        List<MiniJobCard> pageContent = start >= sortedCards.size() ? List.of() : sortedCards.subList(start, end);
-        return new PageImpl<>(pageContent, pageable, sortedCards.size());
+        // Sorted by scheduled date and time (priority ordering) and paged in the database
+        return miniJobCardRepository.findScheduledByEmployee(employee.getId(), unsorted(pageable));
     }
 
     public MiniJobCard getJobCardByIdForEmployee(Long id, String username) {
@@ -430,59 +579,27 @@ public class TicketService {
 
         JobStatus jobStatus = JobStatus.valueOf(status.toUpperCase());
 
-        // Get all job cards with the specified status and sort by scheduled date and time (priority ordering)
-        List<MiniJobCard> allCards = miniJobCardRepository.findByEmployeeAndStatus(employee, jobStatus, Pageable.unpaged()).getContent();
-        List<MiniJobCard> sortedCards = allCards.stream()
-                .sorted((a, b) -> {
-                    // Sort by scheduled date first, then by scheduled time
-                    int dateCompare = a.getMainTicket().getScheduledDate()
-                            .compareTo(b.getMainTicket().getScheduledDate());
-                    if (dateCompare != 0) {
-                        return dateCompare;
-                    }
-                    return a.getMainTicket().getScheduledTime()
-                            .compareTo(b.getMainTicket().getScheduledTime());
-                })
-                .collect(Collectors.toList());
-
-        // Apply pagination to sorted list
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), sortedCards.size());
-        List<MiniJobCard> pageContent = start >= sortedCards.size() ? List.of() : sortedCards.subList(start, end);
-        return new PageImpl<>(pageContent, pageable, sortedCards.size());
+        // Sorted by scheduled date and time (priority ordering) and paged in the database
+        return miniJobCardRepository.findScheduledByEmployeeAndStatus(employee.getId(), jobStatus, unsorted(pageable));
     }
 
     public Page<MiniJobCard> getJobCardsByEmployeeAndDate(String username, LocalDate date, String status, Pageable pageable) {
         User employee = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
 
-        // Get all job cards for the employee
-        List<MiniJobCard> allCards = miniJobCardRepository.findByEmployee(employee, Pageable.unpaged()).getContent();
-
-        // Filter by scheduled date
-        List<MiniJobCard> filteredCards = allCards.stream()
-                .filter(card -> card.getMainTicket().getScheduledDate().equals(date))
-                .collect(Collectors.toList());
-
-        // Apply status filter if provided
+        // Apply status filter if provided, sorted by scheduled time (ascending order)
         if (status != null && !status.isEmpty() && !status.equalsIgnoreCase("ALL")) {
             JobStatus jobStatus = JobStatus.valueOf(status.toUpperCase());
-            filteredCards = filteredCards.stream()
-                    .filter(card -> card.getStatus() == jobStatus)
-                    .collect(Collectors.toList());
+            return miniJobCardRepository.findScheduledByEmployeeAndDateAndStatus(
+                    employee.getId(), date, jobStatus, unsorted(pageable));
         }
 
-        // Sort by scheduled time (ascending order)
-        List<MiniJobCard> sortedCards = filteredCards.stream()
-                .sorted((a, b) -> a.getMainTicket().getScheduledTime()
-                        .compareTo(b.getMainTicket().getScheduledTime()))
-                .collect(Collectors.toList());
+        return miniJobCardRepository.findScheduledByEmployeeAndDate(employee.getId(), date, unsorted(pageable));
+    }
 
-        // Apply pagination to sorted list
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), sortedCards.size());
-        List<MiniJobCard> pageContent = start >= sortedCards.size() ? List.of() : sortedCards.subList(start, end);
-        return new PageImpl<>(pageContent, pageable, sortedCards.size());
+    // These lists always use schedule order, so any client sort is dropped
+    private Pageable unsorted(Pageable pageable) {
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : pageable;
     }
 
 
@@ -623,19 +740,11 @@ public class TicketService {
             throw new RuntimeException("Employee already assigned to this ticket");
         }
 
-        TicketAssignment assignment = new TicketAssignment();
-        assignment.setMainTicket(ticket);
-        assignment.setEmployee(employee);
-        ticketAssignmentRepository.save(assignment);
-
-        MiniJobCard miniJobCard = new MiniJobCard();
-        miniJobCard.setMainTicket(ticket);
-        miniJobCard.setEmployee(employee);
-        miniJobCard.setStatus(JobStatus.PENDING);
-        miniJobCard.setApproved(false);
-        miniJobCard.setWorkMinutes(0);
+        ticketAssignmentRepository.save(buildAssignment(ticket, employee));
+        MiniJobCard miniJobCard = miniJobCardRepository.save(buildMiniJobCard(ticket, employee));
+        moveCardCount(ticket, null, JobStatus.PENDING);
 
-        return miniJobCardRepository.save(miniJobCard);
+        return miniJobCard;
     }
 
     @Transactional
@@ -651,6 +760,8 @@ public class TicketService {
         }
 
         miniJobCardRepository.delete(card);
+        moveCardCount(card.getMainTicket(), card.getStatus(), null);
+        invalidateCachedReports(card);
 
         List<TicketAssignment> assignments = ticketAssignmentRepository.findByMainTicketId(ticketId);
         assignments.stream()
@@ -680,14 +791,23 @@ public class TicketService {
         ticket.setStatus(JobStatus.CANCEL);
         mainTicketRepository.save(ticket);
 
-        // Cancel all mini job cards
+        // Cancel all mini job cards, closing the span of a card that is still traveling, started or on hold
         List<MiniJobCard> cards = miniJobCardRepository.findByMainTicketId(id);
+        LocalDateTime now = LocalDateTime.now(timeZoneConfig.getZoneId());
+        Map<JobStatus, Integer> delta = new EnumMap<>(JobStatus.class);
         cards.forEach(card -> {
             if (card.getStatus() != JobStatus.COMPLETED) {
+                delta.merge(card.getStatus(), -1, Integer::sum);
+                delta.merge(JobStatus.CANCEL, 1, Integer::sum);
+                if (card.getStatus() != JobStatus.CANCEL) {
+                    closeStatusSpan(card, now);
+                }
                 card.setStatus(JobStatus.CANCEL);
                 miniJobCardRepository.save(card);
+                invalidateCachedReports(card);
             }
         });
+        adjustCardCounts(ticket, delta);
 
         return ticket;
     }
@@ -702,6 +822,11 @@ public class TicketService {
         Generator generator = generatorRepository.findById(request.getGeneratorId())
                 .orElseThrow(() -> new RuntimeException("Generator not found"));
 
+        // Reports show the ticket title and generator and place cards on the scheduled date
+        boolean reportFieldsChanged = !Objects.equals(ticket.getTitle(), request.getTitle())
+                || !Objects.equals(ticket.getGenerator().getId(), generator.getId())
+                || !Objects.equals(ticket.getScheduledDate(), request.getScheduledDate());
+
         ticket.setGenerator(generator);
         ticket.setTitle(request.getTitle());
         ticket.setDescription(request.getDescription());
@@ -711,6 +836,7 @@ public class TicketService {
         ticket.setScheduledTime(request.getScheduledTime());
 
         ticket = mainTicketRepository.save(ticket);
+        miniJobCardRepository.updateScheduledDateByMainTicketId(ticket.getId(), ticket.getScheduledDate());
 
         // Update employee assignments if provided
         if (request.getEmployeeIds() != null && !request.getEmployeeIds().isEmpty()) {
@@ -723,21 +849,21 @@ public class TicketService {
             Set<Long> requestedEmployeeIds = new HashSet<>(request.getEmployeeIds());
 
             // Remove assignments for employees not in the new list (only if PENDING or CANCEL)
+            Map<Long, MiniJobCard> cardsByEmployee = miniJobCardRepository.findByMainTicketId(id).stream()
+                    .collect(Collectors.toMap(c -> c.getEmployee().getId(), c -> c, (a, b) -> a));
+            List<MiniJobCard> removedCards = new ArrayList<>();
+            List<TicketAssignment> removedAssignments = new ArrayList<>();
+
             for (TicketAssignment assignment : currentAssignments) {
                 Long empId = assignment.getEmployee().getId();
                 if (!requestedEmployeeIds.contains(empId)) {
-                    // Find the mini job card for this employee
-                    List<MiniJobCard> cards = miniJobCardRepository.findByMainTicketId(id);
-                    MiniJobCard card = cards.stream()
-                            .filter(c -> c.getEmployee().getId().equals(empId))
-                            .findFirst()
-                            .orElse(null);
+                    MiniJobCard card = cardsByEmployee.get(empId);
 
                     if (card != null) {
                         if (card.getStatus() == JobStatus.PENDING || card.getStatus() == JobStatus.CANCEL) {
                             // Safe to remove
-                            miniJobCardRepository.delete(card);
-                            ticketAssignmentRepository.delete(assignment);
+                            removedCards.add(card);
+                            removedAssignments.add(assignment);
                         } else {
                             throw new RuntimeException("Cannot unassign employee " + assignment.getEmployee().getFullName() +
                                     " - job card status is " + card.getStatus());
@@ -746,32 +872,32 @@ public class TicketService {
                 }
             }
 
-            // Add new assignments
-            for (Long employeeId : requestedEmployeeIds) {
-                if (!currentEmployeeIds.contains(employeeId)) {
-                    User employee = userRepository.findById(employeeId)
-                            .orElseThrow(() -> new RuntimeException("Employee not found: " + employeeId));
+            miniJobCardRepository.deleteAll(removedCards);
+            ticketAssignmentRepository.deleteAll(removedAssignments);
+            removedCards.forEach(this::invalidateCachedReports);
+            Map<JobStatus, Integer> delta = new EnumMap<>(JobStatus.class);
+            removedCards.forEach(card -> delta.merge(card.getStatus(), -1, Integer::sum));
 
-                    if (employee.getRole() != UserRole.EMPLOYEE) {
-                        throw new RuntimeException("User " + employee.getUsername() + " is not an employee");
-                    }
+            // Add new assignments, loading the new employees in one query and inserting as JDBC batches
+            List<Long> newEmployeeIds = requestedEmployeeIds.stream()
+                    .filter(employeeId -> !currentEmployeeIds.contains(employeeId))
+                    .collect(Collectors.toList());
+            List<TicketAssignment> newAssignments = new ArrayList<>();
+            List<MiniJobCard> newCards = new ArrayList<>();
 
-                    // Create assignment
-                    TicketAssignment assignment = new TicketAssignment();
-                    assignment.setMainTicket(ticket);
-                    assignment.setEmployee(employee);
-                    ticketAssignmentRepository.save(assignment);
-
-                    // Create mini job card
-                    MiniJobCard miniJobCard = new MiniJobCard();
-                    miniJobCard.setMainTicket(ticket);
-                    miniJobCard.setEmployee(employee);
-                    miniJobCard.setStatus(JobStatus.PENDING);
-                    miniJobCard.setApproved(false);
-                    miniJobCard.setWorkMinutes(0);
-                    miniJobCardRepository.save(miniJobCard);
-                }
+            for (User employee : findEmployees(newEmployeeIds)) {
+                newAssignments.add(buildAssignment(ticket, employee));
+                newCards.add(buildMiniJobCard(ticket, employee));
             }
+
+            ticketAssignmentRepository.saveAll(newAssignments);
+            miniJobCardRepository.saveAll(newCards);
+            delta.merge(JobStatus.PENDING, newCards.size(), Integer::sum);
+            adjustCardCounts(ticket, delta);
+        }
+
+        if (reportFieldsChanged) {
+            reportCache.invalidateAll();
         }
 
         return ticket;
@@ -799,39 +925,52 @@ public class TicketService {
 
         // Delete ticket
         mainTicketRepository.delete(ticket);
+
+        // Deleted job cards may appear in cached reports
+        reportCache.invalidateAll();
     }
 
     public Page<MainTicket> getTicketsByGenerator(Long generatorId, Pageable pageable) {
-        Generator generator = generatorRepository.findById(generatorId)
-                .orElseThrow(() -> new RuntimeException("Generator not found"));
-
-        List<MainTicket> tickets = mainTicketRepository.findAll().stream()
-                .filter(t -> t.getGenerator().getId().equals(generatorId))
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                .collect(Collectors.toList());
+        if (!generatorRepository.existsById(generatorId)) {
+            throw new RuntimeException("Generator not found");
+        }
 
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), tickets.size());
-        List<MainTicket> pageContent = start >= tickets.size() ? List.of() : tickets.subList(start, end);
-        return new PageImpl<>(pageContent, pageable, tickets.size());
+        return mainTicketRepository.findByGeneratorId(generatorId, pageable);
     }
 
     // Approval methods
     public Page<MiniJobCard> getPendingApprovals(Pageable pageable) {
-        List<MiniJobCard> allCards = miniJobCardRepository.findAll();
-        List<MiniJobCard> pending = allCards.stream()
-                .filter(c -> c.getStatus() == JobStatus.COMPLETED && !c.getApproved())
-                .sorted((a, b) -> b.getEndTime().compareTo(a.getEndTime()))
-                .collect(Collectors.toList());
+        return miniJobCardRepository.findPendingApprovals(unsorted(pageable));
+    }
 
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), pending.size());
-        List<MiniJobCard> pageContent = start >= pending.size() ? List.of() : pending.subList(start, end);
-        return new PageImpl<>(pageContent, pageable, pending.size());
+    /**
+     * Pending approvals with keyset paging, newest end time first
+     *
+     * @param cursor Continuation token from the previous slice, or null for the first slice
+     * @param size Slice size
+     */
+    public CursorPage<MiniJobCard> getPendingApprovalQueue(String cursor, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<MiniJobCard> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = miniJobCardRepository.findPendingApprovalsFirst(limit);
+        } else {
+            CursorPage.Cursor after = CursorPage.decodeCursor(cursor);
+            rows = miniJobCardRepository.findPendingApprovalsBefore(after.sortKeyAsDateTime(), after.id(), limit);
+        }
+        return CursorPage.of(rows, size, card -> CursorPage.encodeCursor(card.getEndTime(), card.getId()));
     }
 
-    @Transactional
+    /**
+     * Approve a completed job card. On a concurrent update of the card or its ticket the
+     * approval is re-read and re-validated before it is retried.
+     */
     public MiniJobCard approveMiniJobCard(Long miniJobCardId, String approvedBy) {
+        return optimisticRetryExecutor.execute("Job approval",
+                () -> applyApproval(miniJobCardId, approvedBy));
+    }
+
+    private MiniJobCard applyApproval(Long miniJobCardId, String approvedBy) {
         MiniJobCard miniJobCard = miniJobCardRepository.findById(miniJobCardId)
                 .orElseThrow(() -> new RuntimeException("Mini job card not found"));
 
@@ -839,10 +978,14 @@ public class TicketService {
             throw new RuntimeException("Can only approve completed job cards");
         }
 
+        if (!miniJobCard.getApproved()) {
+            employeeDayFactService.recordJobApproved(miniJobCard, 1);
+        }
+
         miniJobCard.setApproved(true);
         MiniJobCard saved = miniJobCardRepository.save(miniJobCard);
 
-        updateMainTicketStatus(miniJobCard.getMainTicket().getId());
+        refreshMainTicketStatus(miniJobCard.getMainTicket());
 
         // Log approval activity
         User approver = userRepository.findByUsername(approvedBy).orElse(null);
@@ -862,6 +1005,8 @@ public class TicketService {
                 employeeScore.setApprovedBy(approvedBy);
                 employeeScore.setApprovedAt(LocalDateTime.now(timeZoneConfig.getZoneId()));
                 employeeScoreRepository.save(employeeScore);
+                employeeDayFactService.recordScoreChange(employeeScore.getEmployee().getId(),
+                        employeeScore.getWorkDate(), employeeScore.getWeight());
             } catch (Exception e) {
                 // Log but don't fail approval if score creation fails
                 System.err.println("Warning: Failed to create EmployeeScore for job card " + miniJobCardId + ": " + e.getMessage());
@@ -880,26 +1025,33 @@ public class TicketService {
             throw new RuntimeException("Can only reject completed job cards");
         }
 
-        card.setStatus(JobStatus.ON_HOLD);
-        card.setApproved(false);
+        // Rejection puts the card back ON_HOLD, so the Single Active Ticket Rule applies on its scheduled date
+        boolean hasActiveTicket = miniJobCardRepository.existsByEmployeeIdAndScheduledDateAndStatusInAndIdNot(
+                card.getEmployee().getId(), card.getScheduledDate(), ACTIVE_STATUSES, id);
 
-        return miniJobCardRepository.save(card);
-    }
+        if (hasActiveTicket) {
+            throw new RuntimeException(ACTIVE_TICKET_MESSAGE);
+        }
 
-    @Transactional
-    public List<MiniJobCard> bulkApproveMiniJobCards(List<Long> ids, String approvedBy) {
-        List<MiniJobCard> approved = new ArrayList<>();
+        employeeDayFactService.recordJobCompleted(card, -1);
+        if (card.getApproved()) {
+            employeeDayFactService.recordJobApproved(card, -1);
+        }
 
-        for (Long id : ids) {
-            try {
-                MiniJobCard card = approveMiniJobCard(id, approvedBy);
-                approved.add(card);
-            } catch (Exception e) {
-                // Skip cards that can't be approved
+        moveCardCount(card.getMainTicket(), JobStatus.COMPLETED, JobStatus.ON_HOLD);
+        card.setStatus(JobStatus.ON_HOLD);
+        card.setStatusSince(LocalDateTime.now(timeZoneConfig.getZoneId()));
+        card.setApproved(false);
+
+        try {
+            // Flush now so a concurrent activation caught by the unique index fails here
+            return miniJobCardRepository.saveAndFlush(card);
+        } catch (DataIntegrityViolationException e) {
+            if (isActivePerDayViolation(e)) {
+                throw new RuntimeException(ACTIVE_TICKET_MESSAGE);
             }
+            throw e;
         }
-
-        return approved;
     }
 
     public List<EmployeeScore> getScoresByTicket(Long ticketId) {
@@ -919,6 +1071,9 @@ public class TicketService {
             throw new RuntimeException("Weight/Score must be between 1 and 5");
         }
 
+        employeeDayFactService.recordScoreChange(score.getEmployee().getId(), score.getWorkDate(),
+                newWeight - score.getWeight());
+
         score.setWeight(newWeight); // Weight and score are the same
         score.setApprovedBy(updatedBy);
         score.setApprovedAt(LocalDateTime.now(timeZoneConfig.getZoneId()));
@@ -931,22 +1086,22 @@ public class TicketService {
         EmployeeScore score = employeeScoreRepository.findById(scoreId)
                 .orElseThrow(() -> new RuntimeException("Score not found"));
         employeeScoreRepository.delete(score);
+        employeeDayFactService.recordScoreChange(score.getEmployee().getId(), score.getWorkDate(), -score.getWeight());
     }
 
     public Map<String, Object> getApprovalStatistics() {
-        List<MiniJobCard> allCards = miniJobCardRepository.findAll();
-
-        long pending = allCards.stream()
-                .filter(c -> c.getStatus() == JobStatus.COMPLETED && !c.getApproved())
-                .count();
-
-        long approved = allCards.stream()
-                .filter(c -> c.getStatus() == JobStatus.COMPLETED && c.getApproved())
-                .count();
-
-        long rejected = allCards.stream()
-                .filter(c -> c.getStatus() == JobStatus.ON_HOLD)
-                .count();
+        long pending = 0;
+        long approved = 0;
+        long rejected = 0;
+        for (ApprovalStatusCount row : miniJobCardRepository.countApprovalStatuses()) {
+            if (row.getStatus() == JobStatus.ON_HOLD) {
+                rejected += row.getCount();
+            } else if (Boolean.TRUE.equals(row.getApproved())) {
+                approved += row.getCount();
+            } else {
+                pending += row.getCount();
+            }
+        }
 
         Map<String, Object> stats = new HashMap<>();
         stats.put("pendingApprovals", pending);
@@ -966,35 +1121,57 @@ public class TicketService {
      */
     @Transactional
     public int backfillEmployeeScores(String adminUsername) {
-        List<MiniJobCard> allJobCards = miniJobCardRepository.findAll();
+        // Approved, completed jobs without a score, with employee and ticket loaded in one query
+        List<MiniJobCard> unscoredJobCards = miniJobCardRepository.findApprovedCompletedWithoutScore();
         int count = 0;
 
-        for (MiniJobCard jobCard : allJobCards) {
-            // Only backfill for approved, completed jobs that don't have scores
-            if (jobCard.getApproved() &&
-                jobCard.getStatus() == JobStatus.COMPLETED &&
-                jobCard.getEndTime() != null &&
-                !employeeScoreRepository.existsByMiniJobCardId(jobCard.getId())) {
-
-                try {
-                    EmployeeScore employeeScore = new EmployeeScore();
-                    employeeScore.setEmployee(jobCard.getEmployee());
-                    employeeScore.setMiniJobCard(jobCard);
-                    employeeScore.setWorkDate(jobCard.getEndTime().toLocalDate());
-                    employeeScore.setWeight(jobCard.getMainTicket().getWeight());
-                    employeeScore.setApprovedBy(adminUsername);
-                    employeeScore.setApprovedAt(LocalDateTime.now(timeZoneConfig.getZoneId()));
-                    employeeScoreRepository.save(employeeScore);
-                    count++;
-                } catch (Exception e) {
-                    System.err.println("Warning: Failed to backfill score for job card " + jobCard.getId() + ": " + e.getMessage());
-                }
+        for (MiniJobCard jobCard : unscoredJobCards) {
+            try {
+                EmployeeScore employeeScore = new EmployeeScore();
+                employeeScore.setEmployee(jobCard.getEmployee());
+                employeeScore.setMiniJobCard(jobCard);
+                employeeScore.setWorkDate(jobCard.getEndTime().toLocalDate());
+                employeeScore.setWeight(jobCard.getMainTicket().getWeight());
+                employeeScore.setApprovedBy(adminUsername);
+                employeeScore.setApprovedAt(LocalDateTime.now(timeZoneConfig.getZoneId()));
+                employeeScoreRepository.save(employeeScore);
+                employeeDayFactService.recordScoreChange(employeeScore.getEmployee().getId(),
+                        employeeScore.getWorkDate(), employeeScore.getWeight());
+                count++;
+            } catch (Exception e) {
+                System.err.println("Warning: Failed to backfill score for job card " + jobCard.getId() + ": " + e.getMessage());
             }
         }
 
         return count;
     }
 
+    /**
+     * Backfill per-status durations for job cards
+     * Populates work/travel/on-hold minutes and the current status start time from the
+     * status logs for cards created before these were tracked. Deployments run
+     * db/migration/backfill_job_card_status_durations.sql instead; this only touches
+     * cards that still have no status start time.
+     *
+     * @return Number of job cards updated
+     */
+    @Transactional
+    public int backfillStatusDurations() {
+        return miniJobCardRepository.backfillStatusDurations();
+    }
+
+    /**
+     * Recount per-status job card counts on main tickets
+     * Corrects tickets whose stored counts disagree with their job cards. Deployments fill
+     * the counts with db/migration/backfill_ticket_card_counts.sql.
+     *
+     * @return Number of tickets updated
+     */
+    @Transactional
+    public int recountTicketCardCounts() {
+        return mainTicketRepository.recountCardCounts();
+    }
+
     /**
      * Update job card image URL
      *
@@ -1,5 +1,6 @@
 package com.ems.service;
 
+import com.ems.dto.CursorPage;
 import com.ems.dto.UserPutRequest;
 import com.ems.dto.UserRequest;
 import com.ems.entity.User;
@@ -8,6 +9,7 @@ import com.ems.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -47,6 +49,24 @@ public class UserService {
     public Page<User> getAllUsers(Pageable pageable) {
         return userRepository.findAll(pageable);
     }
+
+    /**
+     * All users newest first, one keyset slice at a time
+     *
+     * @param cursor nextCursor of the previous slice, null or blank for the first slice
+     * @param size Slice size
+     */
+    public CursorPage<User> getAllUsersByCursor(String cursor, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<User> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = userRepository.findLatestFirst(limit);
+        } else {
+            CursorPage.Cursor after = CursorPage.decodeCursor(cursor);
+            rows = userRepository.findLatestBefore(after.sortKeyAsDateTime(), after.id(), limit);
+        }
+        return CursorPage.of(rows, size, user -> CursorPage.encodeCursor(user.getCreatedAt(), user.getId()));
+    }
     
     public Page<User> getEmployees(Pageable pageable) {
         return userRepository.findByRoleAndActive(UserRole.EMPLOYEE, true, pageable);
@@ -0,0 +1,17 @@
+-- Migration: Indexes for keyset (cursor) paging of tickets and users
+-- Let /api/admin/tickets/cursor and /api/admin/users/cursor seek straight to the
+-- (created_at, id) position of the cursor instead of counting and skipping rows
+-- Activity logs use idx_activity_logs_timestamp and idx_activity_logs_employee_timestamp
+-- from partition_log_tables.sql
+-- Run this SQL script manually in your PostgreSQL database
+-- (Hibernate creates the same indexes on startup; CONCURRENTLY avoids locking a busy table)
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_main_tickets_created
+ON main_tickets (created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_created
+ON users (created_at, id);
+
+-- Verify the indexes
+-- SELECT indexname, indexdef FROM pg_indexes
+-- WHERE indexname IN ('idx_main_tickets_created', 'idx_users_created');
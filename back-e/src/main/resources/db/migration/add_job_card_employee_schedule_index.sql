@@ -0,0 +1,19 @@
+-- Migration: Index for employee job card lists in schedule order
+-- /api/employee/job-cards filters on mini_job_cards.employee_id and orders by the card's
+-- denormalized scheduled_date, so pages are read from this index in date order instead of
+-- sorting the employee's whole history
+-- Run this SQL script manually in your PostgreSQL database
+-- (after add_single_active_job_card_index.sql, which backfills scheduled_date;
+-- Hibernate creates the same index on startup; CONCURRENTLY avoids locking busy tables)
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_mini_job_cards_employee_schedule
+ON mini_job_cards (employee_id, scheduled_date, id);
+
+-- Verify the index
+-- SELECT indexname, indexdef FROM pg_indexes WHERE indexname = 'idx_mini_job_cards_employee_schedule';
+
+-- Verify the plan (expect an index scan on idx_mini_job_cards_employee_schedule under the Limit)
+-- EXPLAIN SELECT mjc.* FROM mini_job_cards mjc
+-- JOIN main_tickets mt ON mt.id = mjc.main_ticket_id
+-- WHERE mjc.employee_id = 1
+-- ORDER BY mjc.scheduled_date, mt.scheduled_time, mjc.id LIMIT 20;
@@ -0,0 +1,15 @@
+-- Migration: Indexes for employee job card lists sorted by ticket schedule
+-- Lets /api/employee/job-cards filter by employee/status and join main_tickets
+-- in schedule order without reading the employee's whole history
+-- Run this SQL script manually in your PostgreSQL database
+-- (Hibernate creates the same indexes on startup; CONCURRENTLY avoids locking busy tables)
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_mini_job_cards_employee_status
+ON mini_job_cards (employee_id, status, main_ticket_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_main_tickets_schedule
+ON main_tickets (scheduled_date, scheduled_time, id);
+
+-- Verify the indexes
+-- SELECT indexname, indexdef FROM pg_indexes
+-- WHERE indexname IN ('idx_mini_job_cards_employee_status', 'idx_main_tickets_schedule');
@@ -0,0 +1,11 @@
+-- Migration: Index for per-generator ticket lists and statistics
+-- Lets /api/admin/generators/{id}/tickets, /{id}/statistics and the generator service
+-- history report read only that generator's tickets, newest first
+-- Run this SQL script manually in your PostgreSQL database
+-- (Hibernate creates the same index on startup; CONCURRENTLY avoids locking a busy table)
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_main_tickets_generator_created
+ON main_tickets (generator_id, created_at);
+
+-- Verify the index
+-- SELECT indexname, indexdef FROM pg_indexes WHERE indexname = 'idx_main_tickets_generator_created';
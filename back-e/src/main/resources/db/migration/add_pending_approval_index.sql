@@ -0,0 +1,12 @@
+-- Migration: Partial index for the pending approval queue
+-- Covers only completed, unapproved job cards, so /api/admin/approvals/pending and
+-- /pending/queue read the queue itself instead of the whole job card history
+-- Run this SQL script manually in your PostgreSQL database
+-- (a partial index cannot be declared through JPA, so Hibernate does not create this one)
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_mini_job_cards_pending_approval
+ON mini_job_cards (end_time DESC, id DESC)
+WHERE status = 'COMPLETED' AND approved = false;
+
+-- Verify the index
+-- SELECT indexname, indexdef FROM pg_indexes WHERE indexname = 'idx_mini_job_cards_pending_approval';
@@ -0,0 +1,27 @@
+-- Migration: Enforce one active job card per employee per scheduled day
+-- Backs the "single active ticket" rule in TicketService.updateJobStatus so that it also
+-- holds for concurrent requests across multiple app instances
+-- Run this SQL script manually in your PostgreSQL database
+-- (the scheduled_date column itself is added by Hibernate on startup)
+
+-- 1. Backfill the denormalized scheduled date from the main ticket
+UPDATE mini_job_cards mjc
+SET scheduled_date = mt.scheduled_date
+FROM main_tickets mt
+WHERE mt.id = mjc.main_ticket_id
+  AND mjc.scheduled_date IS DISTINCT FROM mt.scheduled_date;
+
+-- 2. Check for existing violations (must return no rows before creating the index)
+-- SELECT employee_id, scheduled_date, COUNT(*)
+-- FROM mini_job_cards
+-- WHERE status IN ('TRAVELING', 'STARTED', 'ON_HOLD')
+-- GROUP BY employee_id, scheduled_date
+-- HAVING COUNT(*) > 1;
+
+-- 3. Partial unique index over active statuses only
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_mini_job_cards_active_per_day
+ON mini_job_cards (employee_id, scheduled_date)
+WHERE status IN ('TRAVELING', 'STARTED', 'ON_HOLD');
+
+-- Verify the index
+-- SELECT indexname, indexdef FROM pg_indexes WHERE indexname = 'uk_mini_job_cards_active_per_day';
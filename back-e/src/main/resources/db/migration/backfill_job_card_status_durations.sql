@@ -0,0 +1,43 @@
+-- Migration: Per-status durations on job cards
+-- Adds the running work/travel/on-hold minutes and the current status start time, and fills
+-- them from the status logs for cards created before they were tracked. Each log spans until
+-- the next log of the same card; the last log is the current status.
+-- Run this SQL script manually in your PostgreSQL database before deploying this version
+-- (cards it has not filled yet fall back to their latest status log on the next status change,
+-- but their minutes so far are not counted until the script has run)
+
+-- 1. Columns (Hibernate would add them on startup, but without the backfill)
+ALTER TABLE mini_job_cards ADD COLUMN IF NOT EXISTS travel_minutes INTEGER DEFAULT 0;
+ALTER TABLE mini_job_cards ADD COLUMN IF NOT EXISTS on_hold_minutes INTEGER DEFAULT 0;
+ALTER TABLE mini_job_cards ADD COLUMN IF NOT EXISTS status_since TIMESTAMP(6);
+
+-- 2. Backfill cards that have status logs but no status start time yet
+WITH status_spans AS (
+    SELECT jsl.mini_job_card_id AS card_id,
+           jsl.new_status AS status,
+           jsl.logged_at AS span_start,
+           LEAD(jsl.logged_at) OVER (PARTITION BY jsl.mini_job_card_id ORDER BY jsl.logged_at, jsl.id) AS span_end
+    FROM job_status_logs jsl
+    JOIN mini_job_cards mjc ON mjc.id = jsl.mini_job_card_id
+    WHERE mjc.status_since IS NULL
+), card_totals AS (
+    SELECT card_id,
+           SUM(CASE WHEN status = 'STARTED' AND span_end IS NOT NULL THEN FLOOR(EXTRACT(EPOCH FROM (span_end - span_start)) / 60) ELSE 0 END) AS work_minutes,
+           SUM(CASE WHEN status = 'TRAVELING' AND span_end IS NOT NULL THEN FLOOR(EXTRACT(EPOCH FROM (span_end - span_start)) / 60) ELSE 0 END) AS travel_minutes,
+           SUM(CASE WHEN status = 'ON_HOLD' AND span_end IS NOT NULL THEN FLOOR(EXTRACT(EPOCH FROM (span_end - span_start)) / 60) ELSE 0 END) AS on_hold_minutes,
+           MAX(span_start) AS status_since
+    FROM status_spans
+    GROUP BY card_id
+)
+UPDATE mini_job_cards mjc
+SET work_minutes = CAST(t.work_minutes AS INTEGER),
+    travel_minutes = CAST(t.travel_minutes AS INTEGER),
+    on_hold_minutes = CAST(t.on_hold_minutes AS INTEGER),
+    status_since = t.status_since
+FROM card_totals t
+WHERE mjc.id = t.card_id;
+
+-- Verify (should return 0: every card with status logs has a status start time)
+-- SELECT COUNT(*) FROM mini_job_cards mjc
+-- WHERE mjc.status_since IS NULL
+--   AND EXISTS (SELECT 1 FROM job_status_logs jsl WHERE jsl.mini_job_card_id = mjc.id);
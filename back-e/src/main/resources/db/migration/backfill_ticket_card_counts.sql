@@ -0,0 +1,48 @@
+-- Migration: Per-status job card counts on main tickets
+-- Adds the counts the ticket status is derived from and fills them from the existing job cards.
+-- After this the counts are only changed by atomic UPDATEs as job cards change status.
+-- Run this SQL script manually in your PostgreSQL database before deploying this version
+-- (later drift can be corrected with POST /api/admin/tickets/card-counts/recount)
+
+-- 1. Columns (Hibernate would add them on startup, but with every count at 0)
+ALTER TABLE main_tickets ADD COLUMN IF NOT EXISTS pending_cards INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE main_tickets ADD COLUMN IF NOT EXISTS traveling_cards INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE main_tickets ADD COLUMN IF NOT EXISTS started_cards INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE main_tickets ADD COLUMN IF NOT EXISTS on_hold_cards INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE main_tickets ADD COLUMN IF NOT EXISTS completed_cards INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE main_tickets ADD COLUMN IF NOT EXISTS cancelled_cards INTEGER DEFAULT 0 NOT NULL;
+
+-- 2. Count the job cards of every ticket, writing only tickets whose counts differ
+WITH card_counts AS (
+    SELECT t.id AS ticket_id,
+           COUNT(mjc.id) FILTER (WHERE mjc.status = 'PENDING') AS pending_cards,
+           COUNT(mjc.id) FILTER (WHERE mjc.status = 'TRAVELING') AS traveling_cards,
+           COUNT(mjc.id) FILTER (WHERE mjc.status = 'STARTED') AS started_cards,
+           COUNT(mjc.id) FILTER (WHERE mjc.status = 'ON_HOLD') AS on_hold_cards,
+           COUNT(mjc.id) FILTER (WHERE mjc.status = 'COMPLETED') AS completed_cards,
+           COUNT(mjc.id) FILTER (WHERE mjc.status = 'CANCEL') AS cancelled_cards
+    FROM main_tickets t
+    LEFT JOIN mini_job_cards mjc ON mjc.main_ticket_id = t.id
+    GROUP BY t.id
+)
+UPDATE main_tickets t
+SET pending_cards = c.pending_cards,
+    traveling_cards = c.traveling_cards,
+    started_cards = c.started_cards,
+    on_hold_cards = c.on_hold_cards,
+    completed_cards = c.completed_cards,
+    cancelled_cards = c.cancelled_cards
+FROM card_counts c
+WHERE t.id = c.ticket_id
+  AND (t.pending_cards, t.traveling_cards, t.started_cards, t.on_hold_cards, t.completed_cards, t.cancelled_cards)
+      IS DISTINCT FROM (c.pending_cards, c.traveling_cards, c.started_cards, c.on_hold_cards, c.completed_cards, c.cancelled_cards);
+
+-- Verify (should return 0: every ticket's counts add up to its job cards)
+-- SELECT COUNT(*) FROM (
+--     SELECT t.id
+--     FROM main_tickets t
+--     LEFT JOIN mini_job_cards mjc ON mjc.main_ticket_id = t.id
+--     GROUP BY t.id
+--     HAVING MAX(t.pending_cards + t.traveling_cards + t.started_cards + t.on_hold_cards
+--                + t.completed_cards + t.cancelled_cards) <> COUNT(mjc.id)
+-- ) mismatched;
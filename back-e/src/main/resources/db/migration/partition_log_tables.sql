@@ -0,0 +1,99 @@
+-- Migration: Monthly partitioning of activity_logs and job_status_logs
+-- Both tables are append-only and every log query filters on the log time, so they are
+-- range partitioned by month on "timestamp" / logged_at. Queries for a date range only read
+-- the matching partitions, and old months are removed by detaching or dropping a partition
+-- instead of a large DELETE.
+-- Run this SQL script manually in your PostgreSQL database during a maintenance window
+-- (it copies the existing rows; stop the application first so no logs are written meanwhile)
+-- After the migration LogPartitionService creates upcoming partitions on startup and daily,
+-- and Hibernate re-creates the foreign keys to users, mini_job_cards, main_tickets and
+-- generators on the next startup.
+
+BEGIN;
+
+-- ============================================================================
+-- activity_logs, partitioned by "timestamp"
+-- ============================================================================
+
+ALTER TABLE activity_logs RENAME TO activity_logs_unpartitioned;
+
+CREATE TABLE activity_logs (LIKE activity_logs_unpartitioned INCLUDING DEFAULTS)
+PARTITION BY RANGE ("timestamp");
+
+-- The partition key has to be part of the primary key
+ALTER TABLE activity_logs ADD PRIMARY KEY (id, "timestamp");
+
+-- ============================================================================
+-- job_status_logs, partitioned by logged_at
+-- ============================================================================
+
+ALTER TABLE job_status_logs RENAME TO job_status_logs_unpartitioned;
+
+CREATE TABLE job_status_logs (LIKE job_status_logs_unpartitioned INCLUDING DEFAULTS)
+PARTITION BY RANGE (logged_at);
+
+ALTER TABLE job_status_logs ADD PRIMARY KEY (id, logged_at);
+
+-- ============================================================================
+-- Monthly partitions from the oldest existing row up to three months ahead,
+-- named <table>_yYYYYmMM, plus a default partition for anything out of range
+-- ============================================================================
+
+DO $$
+DECLARE
+    t RECORD;
+    first_month DATE;
+    month DATE;
+BEGIN
+    FOR t IN SELECT * FROM (VALUES ('activity_logs', '"timestamp"'), ('job_status_logs', 'logged_at')) AS v(name, key)
+    LOOP
+        EXECUTE format('SELECT date_trunc(''month'', COALESCE(MIN(%s), now()))::date FROM %I',
+                       t.key, t.name || '_unpartitioned')
+            INTO first_month;
+        month := first_month;
+        WHILE month <= date_trunc('month', now())::date + INTERVAL '3 months' LOOP
+            EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                           t.name || to_char(month, '"_y"YYYY"m"MM'), t.name,
+                           month, (month + INTERVAL '1 month')::date);
+            month := (month + INTERVAL '1 month')::date;
+        END LOOP;
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I DEFAULT', t.name || '_default', t.name);
+    END LOOP;
+END $$;
+
+-- ============================================================================
+-- Copy the existing rows and keep the ID sequences where they are
+-- ============================================================================
+
+INSERT INTO activity_logs SELECT * FROM activity_logs_unpartitioned;
+INSERT INTO job_status_logs SELECT * FROM job_status_logs_unpartitioned;
+
+-- ============================================================================
+-- Indexes (created on every partition, including future ones)
+-- ============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_activity_logs_timestamp
+ON activity_logs ("timestamp");
+
+CREATE INDEX IF NOT EXISTS idx_activity_logs_employee_timestamp
+ON activity_logs (employee_id, "timestamp");
+
+CREATE INDEX IF NOT EXISTS idx_job_status_logs_card_logged_at
+ON job_status_logs (mini_job_card_id, logged_at);
+
+COMMIT;
+
+-- Verify the partitions and row counts
+-- SELECT inhparent::regclass AS parent, inhrelid::regclass AS partition
+-- FROM pg_inherits WHERE inhparent IN ('activity_logs'::regclass, 'job_status_logs'::regclass)
+-- ORDER BY 1, 2;
+-- SELECT (SELECT COUNT(*) FROM activity_logs) AS partitioned,
+--        (SELECT COUNT(*) FROM activity_logs_unpartitioned) AS original;
+
+-- Verify partition pruning (only the matching month should be scanned)
+-- EXPLAIN SELECT * FROM activity_logs
+-- WHERE "timestamp" BETWEEN date_trunc('month', now()) AND now();
+
+-- Once verified, drop the old tables
+-- DROP TABLE activity_logs_unpartitioned;
+-- DROP TABLE job_status_logs_unpartitioned;
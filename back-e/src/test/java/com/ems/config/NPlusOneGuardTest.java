@@ -0,0 +1,165 @@
+package com.ems.config;
+
+import com.ems.entity.*;
+import com.ems.repository.EmployeeScoreRepository;
+import com.ems.repository.JobStatusLogRepository;
+import com.ems.repository.MiniJobCardRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * N+1 guard in fail mode (test profile: more than 10 identical SELECTs fail the request)
+ *
+ * Each case runs a request through the guard that loads entities the way an endpoint does and
+ * serializes them to JSON like the response would, so lazy loads during serialization count.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(NPlusOneGuard.class)
+class NPlusOneGuardTest {
+
+    private static final int CARDS = 15;
+
+    @Autowired
+    private NPlusOneGuard guard;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MiniJobCardRepository miniJobCardRepository;
+
+    @Autowired
+    private EmployeeScoreRepository employeeScoreRepository;
+
+    @Autowired
+    private JobStatusLogRepository jobStatusLogRepository;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Long employeeId;
+    private Long loggedCardId;
+
+    @BeforeEach
+    void setUp() {
+        User employee = new User();
+        employee.setUsername("employee");
+        employee.setPassword("secret");
+        employee.setFullName("Test Employee");
+        employee.setEmail("employee@example.com");
+        employee.setRole(UserRole.EMPLOYEE);
+        entityManager.persist(employee);
+        employeeId = employee.getId();
+
+        // Every card has its own ticket and generator, so loading them lazily takes one SELECT per card
+        for (int i = 0; i < CARDS; i++) {
+            Generator generator = new Generator();
+            generator.setModel("G-" + i);
+            generator.setName("Generator " + i);
+            generator.setLocationName("Site " + i);
+            entityManager.persist(generator);
+
+            MainTicket ticket = new MainTicket();
+            ticket.setTicketNumber("T-" + i);
+            ticket.setGenerator(generator);
+            ticket.setTitle("Ticket " + i);
+            ticket.setType(JobCardType.SERVICE);
+            ticket.setWeight(3);
+            ticket.setScheduledDate(LocalDate.of(2025, 1, 1).plusDays(i));
+            ticket.setScheduledTime(LocalTime.of(9, 0));
+            ticket.setCreatedBy("admin");
+            entityManager.persist(ticket);
+
+            MiniJobCard card = new MiniJobCard();
+            card.setMainTicket(ticket);
+            card.setEmployee(employee);
+            card.setStatus(JobStatus.COMPLETED);
+            card.setApproved(true);
+            entityManager.persist(card);
+
+            EmployeeScore score = new EmployeeScore();
+            score.setEmployee(employee);
+            score.setMiniJobCard(card);
+            score.setWorkDate(ticket.getScheduledDate());
+            score.setWeight(3);
+            score.setApprovedBy("admin");
+            score.setApprovedAt(ticket.getScheduledDate().atTime(17, 0));
+            entityManager.persist(score);
+
+            if (i == 0) {
+                loggedCardId = card.getId();
+            }
+        }
+
+        MiniJobCard loggedCard = entityManager.find(MiniJobCard.class, loggedCardId);
+        for (int i = 0; i < CARDS; i++) {
+            JobStatusLog log = new JobStatusLog();
+            log.setMiniJobCard(loggedCard);
+            log.setEmployeeEmail("employee@example.com");
+            log.setPrevStatus(JobStatus.STARTED);
+            log.setNewStatus(JobStatus.ON_HOLD);
+            log.setLoggedAt(LocalDate.of(2025, 1, 1).atTime(9, i));
+            entityManager.persist(log);
+        }
+
+        // Start the requests with an empty persistence context so every association is really loaded
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void failsRequestThatLoadsAssociationsRowByRow() {
+        // Plain findAll without an entity graph: ticket and generator load per card during serialization
+        Exception failure = assertThrows(Exception.class,
+                () -> request(() -> miniJobCardRepository.findAll()));
+
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(failure);
+        assertTrue(cause instanceof IllegalStateException && cause.getMessage().startsWith("Possible N+1 select"),
+                "Expected the guard to fail the request, got " + cause);
+    }
+
+    @Test
+    void jobCardListStaysUnderThreshold() {
+        assertDoesNotThrow(() -> request(() ->
+                miniJobCardRepository.findScheduledByEmployee(employeeId, PageRequest.of(0, CARDS))));
+        assertDoesNotThrow(() -> request(() ->
+                miniJobCardRepository.findByEmployee(entityManager.find(User.class, employeeId), PageRequest.of(0, CARDS))));
+    }
+
+    @Test
+    void scoresStayUnderThreshold() {
+        assertDoesNotThrow(() -> request(() -> employeeScoreRepository.findByEmployeeId(employeeId)));
+    }
+
+    @Test
+    void statusLogsStayUnderThreshold() {
+        assertDoesNotThrow(() -> request(() -> jobStatusLogRepository.findByMiniJobCardIdOrderByLoggedAtDesc(loggedCardId)));
+    }
+
+    // Run one request through the guard: load the result and write it as the JSON response body
+    private void request(Supplier<Object> endpoint) throws Exception {
+        FilterChain chain = (request, response) ->
+                objectMapper.writeValue(response.getOutputStream(), endpoint.get());
+        guard.doFilter(new MockHttpServletRequest("GET", "/test"), new MockHttpServletResponse(), chain);
+    }
+}
@@ -0,0 +1,64 @@
+package com.ems.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * RFC 4180 record reading for the ticket CSV import
+ */
+class CsvRecordReaderTest {
+
+    @Test
+    void keepsLineBreaksCommasAndQuotesInsideQuotedFields() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "id,description\r\n" +
+                "1,\"Replace filter,\r\ncheck \"\"oil\"\" level\"\r\n" +
+                "2,plain\r\n"));
+
+        assertEquals(List.of("id", "description"), reader.next());
+        assertEquals(List.of("1", "Replace filter,\ncheck \"oil\" level"), reader.next());
+        assertEquals(List.of("2", "plain"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void reportsThePhysicalLineEachRecordStartsOn() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "header\n" +
+                "\"two\nlines\"\n" +
+                "\n" +
+                "after blank\r" +
+                "last without line break"));
+
+        List<Integer> lines = new ArrayList<>();
+        while (reader.next() != null) {
+            lines.add(reader.getRecordLine());
+        }
+
+        assertEquals(List.of(1, 2, 4, 5, 6), lines);
+    }
+
+    @Test
+    void skipsByteOrderMark() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\uFEFFgeneratorId,title\n"));
+
+        assertEquals(List.of("generatorId", "title"), reader.next());
+    }
+
+    @Test
+    void failsOnUnclosedQuote() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b\n1,\"never closed\n2,x\n"));
+
+        reader.next();
+        assertThrows(RuntimeException.class, reader::next);
+        assertEquals(2, reader.getRecordLine());
+    }
+}
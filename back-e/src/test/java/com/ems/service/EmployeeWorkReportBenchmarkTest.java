@@ -0,0 +1,321 @@
+package com.ems.service;
+
+import com.ems.dto.EmployeeWorkReportDTO;
+import com.ems.entity.*;
+import com.ems.repository.EmployeeDayAttendanceRepository;
+import com.ems.repository.EmployeeScoreRepository;
+import com.ems.repository.MiniJobCardRepository;
+import com.ems.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmark: employee work report assembly, indexed pass against the former per-day scans
+ *
+ * Assembles a year of synthetic attendance, job cards and scores for one employee with the
+ * repositories mocked, so only the in-memory assembly is timed. The former assembly filtered
+ * all cards and scores once per day and all scores once per card; it is kept here verbatim
+ * (minus the queries) to compare against. Both must produce the same report. Prints the median
+ * of each and asserts no timing, so it is excluded from the default build; run it with
+ * mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@ExtendWith(MockitoExtension.class)
+class EmployeeWorkReportBenchmarkTest {
+
+    private static final long EMPLOYEE_ID = 1L;
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+    private static final int CARDS_PER_DAY = 20;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 15;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EmployeeDayAttendanceRepository attendanceRepository;
+
+    @Mock
+    private MiniJobCardRepository miniJobCardRepository;
+
+    @Mock
+    private EmployeeScoreRepository employeeScoreRepository;
+
+    @Mock
+    private ReportCache reportCache;
+
+    @InjectMocks
+    private ReportService reportService;
+
+    private User employee;
+    private final List<EmployeeDayAttendance> attendances = new ArrayList<>();
+    private final List<MiniJobCard> cards = new ArrayList<>();
+    private final List<EmployeeScore> scores = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        employee = new User();
+        employee.setId(EMPLOYEE_ID);
+        employee.setFullName("Synthetic Employee");
+        employee.setEmail("employee@example.com");
+
+        Generator generator = new Generator();
+        generator.setId(1L);
+        generator.setName("Generator 1");
+        generator.setModel("G-100");
+        generator.setLocationName("Site 1");
+
+        long id = 0;
+        for (LocalDate date = START; !date.isAfter(END); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+
+            EmployeeDayAttendance attendance = new EmployeeDayAttendance();
+            attendance.setEmployee(employee);
+            attendance.setDate(date);
+            attendance.setDayStartTime(date.atTime(8, 0));
+            attendance.setDayEndTime(date.atTime(17, 30));
+            attendance.setTotalWorkMinutes(540);
+            attendance.setMorningOtMinutes(0);
+            attendance.setEveningOtMinutes(30);
+            attendances.add(attendance);
+
+            for (int i = 0; i < CARDS_PER_DAY; i++) {
+                id++;
+                MainTicket ticket = new MainTicket();
+                ticket.setId(id);
+                ticket.setTicketNumber("T" + id);
+                ticket.setTitle("Ticket " + id);
+                ticket.setType(JobCardType.SERVICE);
+                ticket.setWeight(3);
+                ticket.setGenerator(generator);
+
+                LocalDateTime start = date.atTime(8, 0).plusMinutes(25L * i);
+                MiniJobCard card = new MiniJobCard();
+                card.setId(id);
+                card.setMainTicket(ticket);
+                card.setEmployee(employee);
+                card.setStatus(JobStatus.COMPLETED);
+                card.setApproved(true);
+                card.setStartTime(start);
+                card.setEndTime(start.plusMinutes(20));
+                card.setWorkMinutes(20);
+                cards.add(card);
+
+                // Every other card is scored
+                if (i % 2 == 0) {
+                    EmployeeScore score = new EmployeeScore();
+                    score.setId(id);
+                    score.setEmployee(employee);
+                    score.setMiniJobCard(card);
+                    score.setWorkDate(date);
+                    score.setWeight(1 + i % 5);
+                    scores.add(score);
+                }
+            }
+        }
+
+        when(reportCache.get(eq("EMPLOYEE_WORK"), eq(EMPLOYEE_ID), eq(START), eq(END), any()))
+                .thenAnswer(invocation -> invocation.getArgument(4, Supplier.class).get());
+        when(userRepository.findById(EMPLOYEE_ID)).thenReturn(Optional.of(employee));
+        when(attendanceRepository.findByEmployeeAndDateBetween(employee, START, END)).thenReturn(attendances);
+        when(miniJobCardRepository.findEndedByEmployeeBetween(EMPLOYEE_ID, START.atStartOfDay(), END.plusDays(1).atStartOfDay()))
+                .thenReturn(cards);
+        when(employeeScoreRepository.findByEmployeeIdAndWorkDateBetween(EMPLOYEE_ID, START, END)).thenReturn(scores);
+    }
+
+    @Test
+    void indexedPassAgainstPerDayScans() {
+        EmployeeWorkReportDTO current = reportService.getEmployeeWorkReport(EMPLOYEE_ID, START, END);
+        assertEquals(legacyReport(employee, START, END, attendances, cards, scores), current);
+
+        double legacyMillis = medianMillis(() -> legacyReport(employee, START, END, attendances, cards, scores));
+        double currentMillis = medianMillis(() -> reportService.getEmployeeWorkReport(EMPLOYEE_ID, START, END));
+
+        System.out.printf("Employee work report: %d days, %d cards, %d scores: per-day scans %.1f ms, indexed pass %.1f ms (%.1fx)%n",
+                attendances.size(), cards.size(), scores.size(), legacyMillis, currentMillis, legacyMillis / currentMillis);
+    }
+
+    private static double medianMillis(Supplier<EmployeeWorkReportDTO> assembly) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            assembly.get();
+        }
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long started = System.nanoTime();
+            assembly.get();
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        return nanos[MEASURED_RUNS / 2] / 1_000_000.0;
+    }
+
+    // Former ReportService.computeEmployeeWorkReport after its queries, unchanged
+    private static EmployeeWorkReportDTO legacyReport(
+            User employee, LocalDate startDate, LocalDate endDate, List<EmployeeDayAttendance> attendances,
+            List<MiniJobCard> allJobCards, List<EmployeeScore> scores) {
+
+        // Build daily records
+        List<EmployeeWorkReportDTO.DailyWorkRecord> dailyRecords = new ArrayList<>();
+        int totalDaysWorked = 0;
+        int totalWorkMinutes = 0;
+        int totalOtMinutes = 0;
+        int totalJobsCompleted = 0;
+        int totalJobsScored = 0;
+        int totalJobsPending = 0;
+        int totalScore = 0; // Total score (sum of all weights since weight = score)
+        List<Integer> dailyScores = new ArrayList<>();
+
+        for (EmployeeDayAttendance attendance : attendances) {
+            LocalDate date = attendance.getDate();
+
+            // Filter jobs for this specific date
+            List<MiniJobCard> dayJobs = allJobCards.stream()
+                    .filter(jc -> jc.getEndTime().toLocalDate().equals(date))
+                    .collect(Collectors.toList());
+
+            // Build job details
+            List<EmployeeWorkReportDTO.JobDetail> jobDetails = new ArrayList<>();
+            for (MiniJobCard jobCard : dayJobs) {
+                // Get score for this job card if exists
+                Optional<EmployeeScore> jobScore = scores.stream()
+                        .filter(s -> s.getMiniJobCard().getId().equals(jobCard.getId()))
+                        .findFirst();
+
+                EmployeeWorkReportDTO.JobDetail jobDetail =
+                        EmployeeWorkReportDTO.JobDetail.builder()
+                        .miniJobCardId(jobCard.getId())
+                        .mainTicketId(jobCard.getMainTicket().getId())
+                        .ticketNumber(jobCard.getMainTicket().getTicketNumber())
+                        .ticketTitle(jobCard.getMainTicket().getTitle())
+                        .jobType(jobCard.getMainTicket().getType().toString())
+                        .jobStatus(jobCard.getStatus().toString())
+                        .generatorId(jobCard.getMainTicket().getGenerator().getId())
+                        .generatorName(jobCard.getMainTicket().getGenerator().getName())
+                        .generatorModel(jobCard.getMainTicket().getGenerator().getModel())
+                        .generatorLocation(jobCard.getMainTicket().getGenerator().getLocationName())
+                        .startTime(jobCard.getStartTime())
+                        .endTime(jobCard.getEndTime())
+                        .workMinutes(jobCard.getWorkMinutes())
+                        .weight(jobCard.getMainTicket().getWeight())
+                        .score(jobScore.map(EmployeeScore::getWeight).orElse(null)) // Weight is the score
+                        .weightedScore(jobScore.map(EmployeeScore::getWeight).orElse(null)) // Same as score now
+                        .scored(jobScore.isPresent())
+                        .approved(jobCard.getApproved())
+                        .build();
+
+                jobDetails.add(jobDetail);
+
+                // Update counters
+                if (jobCard.getStatus() == JobStatus.COMPLETED) {
+                    totalJobsCompleted++;
+                    if (jobScore.isPresent()) {
+                        totalJobsScored++;
+                    } else if (jobCard.getApproved()) {
+                        totalJobsPending++;
+                    }
+                }
+            }
+
+            // Calculate daily score (weight is the score)
+            int dailyScore = scores.stream()
+                    .filter(s -> s.getWorkDate().equals(date))
+                    .mapToInt(EmployeeScore::getWeight) // Weight is the score
+                    .sum();
+
+            long dailyJobCount = scores.stream()
+                    .filter(s -> s.getWorkDate().equals(date))
+                    .count();
+
+            double dailyAverageScore = dailyJobCount > 0
+                    ? (double) dailyScore / dailyJobCount
+                    : 0.0;
+
+            if (dailyScore > 0) {
+                dailyScores.add(dailyScore);
+            }
+
+            // Build daily record
+            EmployeeWorkReportDTO.DailyWorkRecord dailyRecord =
+                    EmployeeWorkReportDTO.DailyWorkRecord.builder()
+                    .date(date)
+                    .checkInTime(attendance.getDayStartTime())
+                    .checkOutTime(attendance.getDayEndTime())
+                    .totalWorkMinutes(attendance.getTotalWorkMinutes())
+                    .morningOtMinutes(attendance.getMorningOtMinutes())
+                    .eveningOtMinutes(attendance.getEveningOtMinutes())
+                    .totalOtMinutes(attendance.getMorningOtMinutes() + attendance.getEveningOtMinutes())
+                    .jobs(jobDetails)
+                    .dailyScore(dailyScore > 0 ? dailyScore : null)
+                    .dailyTotalWeight(dailyScore > 0 ? dailyScore : null) // Same as dailyScore now (weight = score)
+                    .dailyAverageScore(dailyAverageScore > 0 ? dailyAverageScore : null)
+                    .build();
+
+            dailyRecords.add(dailyRecord);
+
+            // Update summary counters
+            totalDaysWorked++;
+            totalWorkMinutes += attendance.getTotalWorkMinutes();
+            totalOtMinutes += attendance.getMorningOtMinutes() + attendance.getEveningOtMinutes();
+            totalScore += dailyScore; // dailyScore is sum of weights for the day
+        }
+
+        // Calculate summary statistics
+        double overallAverageScore = totalJobsScored > 0
+                ? (double) totalScore / totalJobsScored
+                : 0.0;
+
+        Integer maxDailyScore = dailyScores.isEmpty() ? null : dailyScores.stream().max(Integer::compareTo).orElse(null);
+        Integer minDailyScore = dailyScores.isEmpty() ? null : dailyScores.stream().min(Integer::compareTo).orElse(null);
+        Double averageDailyScore = dailyScores.isEmpty() ? null : dailyScores.stream().mapToInt(Integer::intValue).average().orElse(0.0);
+
+        EmployeeWorkReportDTO.SummaryStatistics summary =
+                EmployeeWorkReportDTO.SummaryStatistics.builder()
+                .totalDaysWorked(totalDaysWorked)
+                .totalWorkMinutes(totalWorkMinutes)
+                .totalOtMinutes(totalOtMinutes)
+                .totalJobsCompleted(totalJobsCompleted)
+                .totalJobsScored(totalJobsScored)
+                .totalJobsPending(totalJobsPending)
+                .totalWeightedScore(totalScore) // Total score (weight = score)
+                .totalWeight(totalScore) // Same as totalWeightedScore now
+                .overallAverageScore(overallAverageScore)
+                .maxDailyScore(maxDailyScore)
+                .minDailyScore(minDailyScore)
+                .averageDailyScore(averageDailyScore)
+                .build();
+
+        // Build final report
+        return EmployeeWorkReportDTO.builder()
+                .employeeId(employee.getId())
+                .employeeName(employee.getFullName())
+                .employeeEmail(employee.getEmail())
+                .reportStartDate(startDate)
+                .reportEndDate(endDate)
+                .dailyRecords(dailyRecords)
+                .summary(summary)
+                .build();
+    }
+}
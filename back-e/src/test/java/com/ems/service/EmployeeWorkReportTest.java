@@ -0,0 +1,241 @@
+package com.ems.service;
+
+import com.ems.dto.EmployeeWorkReportDTO;
+import com.ems.entity.*;
+import com.ems.repository.EmployeeDayAttendanceRepository;
+import com.ems.repository.EmployeeScoreRepository;
+import com.ems.repository.MiniJobCardRepository;
+import com.ems.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Employee work report assembly
+ *
+ * One week for one employee with the repositories mocked: days with several, one or no job
+ * cards, a card that ended on a day without attendance, unscored and unapproved cards, and
+ * scores listed in a different order than the cards so they can only be matched by job card ID.
+ */
+@ExtendWith(MockitoExtension.class)
+class EmployeeWorkReportTest {
+
+    private static final long EMPLOYEE_ID = 1L;
+    private static final LocalDate START = LocalDate.of(2025, 3, 3);
+    private static final LocalDate END = LocalDate.of(2025, 3, 9);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EmployeeDayAttendanceRepository attendanceRepository;
+
+    @Mock
+    private MiniJobCardRepository miniJobCardRepository;
+
+    @Mock
+    private EmployeeScoreRepository employeeScoreRepository;
+
+    @Mock
+    private ReportCache reportCache;
+
+    @InjectMocks
+    private ReportService reportService;
+
+    private User employee;
+    private Generator generator;
+    private final List<MiniJobCard> cards = new ArrayList<>();
+    private final List<EmployeeScore> scores = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        employee = new User();
+        employee.setId(EMPLOYEE_ID);
+        employee.setFullName("Test Employee");
+        employee.setEmail("employee@example.com");
+
+        generator = new Generator();
+        generator.setId(1L);
+        generator.setName("Generator 1");
+        generator.setModel("G-100");
+        generator.setLocationName("Site 1");
+
+        // Attendance on Mon, Tue, Wed and Fri; none on Thu and the weekend
+        List<EmployeeDayAttendance> attendances = List.of(
+                attendance(START, 480, 30, 0),
+                attendance(START.plusDays(1), 500, 0, 45),
+                attendance(START.plusDays(2), 450, 0, 0),
+                attendance(START.plusDays(4), 520, 15, 60));
+
+        // Monday: scored, approved but unscored (pending), and unapproved
+        card(101, START, true, 5);
+        card(102, START, true, null);
+        card(103, START, false, null);
+        // Tuesday: one scored card; Wednesday: none
+        card(104, START.plusDays(1), true, 2);
+        // Thursday has no attendance, so this card and its score are not reported
+        card(105, START.plusDays(3), true, 4);
+        // Friday: two scored cards
+        card(106, START.plusDays(4), true, 3);
+        card(107, START.plusDays(4), true, 1);
+
+        // Scores come back in their own order, not the cards'
+        List<EmployeeScore> shuffledScores = new ArrayList<>(scores);
+        Collections.reverse(shuffledScores);
+
+        when(reportCache.get(eq("EMPLOYEE_WORK"), eq(EMPLOYEE_ID), eq(START), eq(END), any()))
+                .thenAnswer(invocation -> invocation.getArgument(4, Supplier.class).get());
+        when(userRepository.findById(EMPLOYEE_ID)).thenReturn(Optional.of(employee));
+        when(attendanceRepository.findByEmployeeAndDateBetween(employee, START, END)).thenReturn(attendances);
+        when(miniJobCardRepository.findEndedByEmployeeBetween(EMPLOYEE_ID, START.atStartOfDay(), END.plusDays(1).atStartOfDay()))
+                .thenReturn(cards);
+        when(employeeScoreRepository.findByEmployeeIdAndWorkDateBetween(EMPLOYEE_ID, START, END)).thenReturn(shuffledScores);
+    }
+
+    @Test
+    void groupsJobCardsByTheDayTheyEnded() {
+        List<EmployeeWorkReportDTO.DailyWorkRecord> days = report().getDailyRecords();
+
+        assertEquals(List.of(START, START.plusDays(1), START.plusDays(2), START.plusDays(4)),
+                days.stream().map(EmployeeWorkReportDTO.DailyWorkRecord::getDate).toList());
+        assertEquals(List.of(101L, 102L, 103L), jobIds(days.get(0)));
+        assertEquals(List.of(104L), jobIds(days.get(1)));
+        assertEquals(List.of(), jobIds(days.get(2)));
+        assertEquals(List.of(106L, 107L), jobIds(days.get(3)));
+    }
+
+    @Test
+    void matchesScoresToJobCardsById() {
+        List<EmployeeWorkReportDTO.JobDetail> jobs = report().getDailyRecords().stream()
+                .flatMap(day -> day.getJobs().stream())
+                .toList();
+
+        assertEquals(Arrays.asList(5, null, null, 2, 3, 1),
+                jobs.stream().map(EmployeeWorkReportDTO.JobDetail::getScore).toList());
+        assertEquals(List.of(true, false, false, true, true, true),
+                jobs.stream().map(EmployeeWorkReportDTO.JobDetail::getScored).toList());
+
+        EmployeeWorkReportDTO.JobDetail unapproved = jobs.get(2);
+        assertEquals(103L, unapproved.getMiniJobCardId());
+        assertFalse(unapproved.getApproved());
+        assertEquals("T103", unapproved.getTicketNumber());
+        assertEquals("Generator 1", unapproved.getGeneratorName());
+    }
+
+    @Test
+    void reportsDailyScoresAndOvertime() {
+        List<EmployeeWorkReportDTO.DailyWorkRecord> days = report().getDailyRecords();
+
+        assertEquals(Arrays.asList(5, 2, null, 4),
+                days.stream().map(EmployeeWorkReportDTO.DailyWorkRecord::getDailyScore).toList());
+        assertEquals(Arrays.asList(5.0, 2.0, null, 2.0),
+                days.stream().map(EmployeeWorkReportDTO.DailyWorkRecord::getDailyAverageScore).toList());
+
+        assertEquals(List.of(30, 0, 0, 15),
+                days.stream().map(EmployeeWorkReportDTO.DailyWorkRecord::getMorningOtMinutes).toList());
+        assertEquals(List.of(0, 45, 0, 60),
+                days.stream().map(EmployeeWorkReportDTO.DailyWorkRecord::getEveningOtMinutes).toList());
+        assertEquals(List.of(30, 45, 0, 75),
+                days.stream().map(EmployeeWorkReportDTO.DailyWorkRecord::getTotalOtMinutes).toList());
+        assertEquals(List.of(480, 500, 450, 520),
+                days.stream().map(EmployeeWorkReportDTO.DailyWorkRecord::getTotalWorkMinutes).toList());
+    }
+
+    @Test
+    void summarizesReportedDaysOnly() {
+        EmployeeWorkReportDTO.SummaryStatistics summary = report().getSummary();
+
+        assertEquals(4, summary.getTotalDaysWorked());
+        assertEquals(1950, summary.getTotalWorkMinutes());
+        assertEquals(150, summary.getTotalOtMinutes());
+        assertEquals(6, summary.getTotalJobsCompleted());
+        assertEquals(4, summary.getTotalJobsScored());
+        assertEquals(1, summary.getTotalJobsPending());
+        assertEquals(11, summary.getTotalWeightedScore());
+        assertEquals(2.75, summary.getOverallAverageScore());
+        assertEquals(5, summary.getMaxDailyScore());
+        assertEquals(2, summary.getMinDailyScore());
+        assertEquals(11 / 3.0, summary.getAverageDailyScore(), 1e-9);
+    }
+
+    @Test
+    void reportsDayWithoutJobsAsEmpty() {
+        EmployeeWorkReportDTO.DailyWorkRecord wednesday = report().getDailyRecords().get(2);
+
+        assertTrue(wednesday.getJobs().isEmpty());
+        assertNull(wednesday.getDailyScore());
+        assertNull(wednesday.getDailyTotalWeight());
+        assertEquals(START.plusDays(2).atTime(8, 0), wednesday.getCheckInTime());
+    }
+
+    private EmployeeWorkReportDTO report() {
+        return reportService.getEmployeeWorkReport(EMPLOYEE_ID, START, END);
+    }
+
+    private static List<Long> jobIds(EmployeeWorkReportDTO.DailyWorkRecord day) {
+        return day.getJobs().stream().map(EmployeeWorkReportDTO.JobDetail::getMiniJobCardId).toList();
+    }
+
+    private EmployeeDayAttendance attendance(LocalDate date, int workMinutes, int morningOt, int eveningOt) {
+        EmployeeDayAttendance attendance = new EmployeeDayAttendance();
+        attendance.setEmployee(employee);
+        attendance.setDate(date);
+        attendance.setDayStartTime(date.atTime(8, 0));
+        attendance.setDayEndTime(date.atTime(17, 0));
+        attendance.setTotalWorkMinutes(workMinutes);
+        attendance.setMorningOtMinutes(morningOt);
+        attendance.setEveningOtMinutes(eveningOt);
+        return attendance;
+    }
+
+    // Completed card ending on the given day, with a score of the given weight unless null
+    private void card(long id, LocalDate endDay, boolean approved, Integer scoreWeight) {
+        MainTicket ticket = new MainTicket();
+        ticket.setId(1000 + id);
+        ticket.setTicketNumber("T" + id);
+        ticket.setTitle("Ticket " + id);
+        ticket.setType(JobCardType.SERVICE);
+        ticket.setWeight(3);
+        ticket.setGenerator(generator);
+
+        MiniJobCard card = new MiniJobCard();
+        card.setId(id);
+        card.setMainTicket(ticket);
+        card.setEmployee(employee);
+        card.setStatus(JobStatus.COMPLETED);
+        card.setApproved(approved);
+        card.setStartTime(endDay.atTime(9, 0).plusMinutes(id));
+        card.setEndTime(endDay.atTime(10, 0).plusMinutes(id));
+        card.setWorkMinutes(60);
+        cards.add(card);
+
+        if (scoreWeight != null) {
+            EmployeeScore score = new EmployeeScore();
+            score.setId(2000 + id);
+            score.setEmployee(employee);
+            score.setMiniJobCard(card);
+            score.setWorkDate(endDay);
+            score.setWeight(scoreWeight);
+            scores.add(score);
+        }
+    }
+}
@@ -102,8 +102,12 @@ export default function AdminApprovals() {
     if (selectedIds.length === 0) return;
     if (!confirm(`Approve ${selectedIds.length} selected job cards?`)) return;
     try {
-      await approvalService.bulkApprove(selectedIds);
-      alert(`${selectedIds.length} job cards approved!`);
+      const result = await approvalService.bulkApprove(selectedIds);
+      alert(
+        result.skippedCount > 0
+          ? `${result.approvedCount} job cards approved, ${result.skippedCount} skipped.`
+          : `${result.approvedCount} job cards approved!`
+      );
       setSelectedIds([]);
       loadPending(currentPage);
     } catch (error: any) {
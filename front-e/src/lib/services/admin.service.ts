@@ -11,6 +11,8 @@ import {
   MiniJobCard,
   EmployeeScore,
   ScoreRequest,
+  BulkApprovalResult,
+  BulkApprovalFilterRequest,
   ApprovalStatistics,
   TimeTrackingReportResponse,
   OTReportResponse,
@@ -19,6 +21,7 @@ import {
   DashboardStats,
   EmployeeWorkReportDTO,
   PageResponse,
+  CursorPage,
   PageRequest,
   JobStatus,
   UserRole,
@@ -43,6 +46,13 @@ export const userService = {
     return response.data;
   },
 
+  async getAllByCursor(cursor?: string, size = 10): Promise<CursorPage<User>> {
+    const response = await apiClient.get<CursorPage<User>>('/admin/users/cursor', {
+      params: { cursor, size },
+    });
+    return response.data;
+  },
+
   async getEmployees(params: PageRequest & { activeOnly?: boolean } = {}): Promise<PageResponse<User>> {
     const response = await apiClient.get<PageResponse<User>>('/admin/users/employees', {
       params: { page: 0, size: 10, activeOnly: true, ...params },
@@ -164,6 +174,13 @@ export const ticketService = {
     return response.data;
   },
 
+  async getAllByCursor(cursor?: string, size = 10): Promise<CursorPage<MainTicket>> {
+    const response = await apiClient.get<CursorPage<MainTicket>>('/admin/tickets/cursor', {
+      params: { cursor, size },
+    });
+    return response.data;
+  },
+
   async getById(id: number): Promise<MainTicket> {
     const response = await apiClient.get<MainTicket>(`/admin/tickets/${id}`);
     return response.data;
@@ -243,6 +260,13 @@ export const approvalService = {
     return response.data;
   },
 
+  async getPendingQueue(cursor?: string, size = 10): Promise<CursorPage<MiniJobCard>> {
+    const response = await apiClient.get<CursorPage<MiniJobCard>>('/admin/approvals/pending/queue', {
+      params: { cursor, size },
+    });
+    return response.data;
+  },
+
   async approve(id: number): Promise<MiniJobCard> {
     const response = await apiClient.put<MiniJobCard>(`/admin/approvals/mini-jobs/${id}/approve`);
     return response.data;
@@ -255,8 +279,13 @@ export const approvalService = {
     return response.data;
   },
 
-  async bulkApprove(ids: number[]): Promise<MiniJobCard[]> {
-    const response = await apiClient.put<MiniJobCard[]>('/admin/approvals/bulk-approve', ids);
+  async bulkApprove(ids: number[]): Promise<BulkApprovalResult> {
+    const response = await apiClient.put<BulkApprovalResult>('/admin/approvals/bulk-approve', ids);
+    return response.data;
+  },
+
+  async bulkApproveByFilter(data: BulkApprovalFilterRequest): Promise<BulkApprovalResult> {
+    const response = await apiClient.put<BulkApprovalResult>('/admin/approvals/bulk-approve/filter', data);
     return response.data;
   },
 
@@ -311,9 +340,9 @@ export const reportService = {
     return response.data;
   },
 
-  async getOvertimeByGenerator(startDate: string, endDate: string): Promise<any> {
+  async getOvertimeByGenerator(startDate: string, endDate: string, page?: number, size?: number): Promise<any> {
     const response = await apiClient.get('/admin/reports/overtime-by-generator', {
-      params: { startDate, endDate },
+      params: { startDate, endDate, page, size },
     });
     return response.data;
   },
@@ -337,8 +366,10 @@ export const reportService = {
     return response.data;
   },
 
-  async getGeneratorServiceHistory(generatorId: number): Promise<any> {
-    const response = await apiClient.get(`/admin/reports/generator-service-history/${generatorId}`);
+  async getGeneratorServiceHistory(generatorId: number, page?: number, size?: number): Promise<any> {
+    const response = await apiClient.get(`/admin/reports/generator-service-history/${generatorId}`, {
+      params: { page, size },
+    });
     return response.data;
   },
 
@@ -438,6 +469,19 @@ export const logsService = {
     return response.data;
   },
 
+  async getAllByCursor(filters: ActivityLogFilterRequest = {}, cursor?: string): Promise<CursorPage<ActivityLogResponse>> {
+    const response = await apiClient.get<CursorPage<ActivityLogResponse>>('/admin/logs/cursor', {
+      params: {
+        employeeId: filters.employeeId,
+        startDate: filters.startDate,
+        endDate: filters.endDate,
+        cursor,
+        size: filters.size || 20,
+      },
+    });
+    return response.data;
+  },
+
   async getByEmployee(employeeId: number, params: PageRequest = {}): Promise<PageResponse<ActivityLogResponse>> {
     const response = await apiClient.get<PageResponse<ActivityLogResponse>>('/admin/logs', {
       params: {
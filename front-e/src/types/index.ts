@@ -119,6 +119,13 @@ export interface MainTicket {
   status: JobStatus;
   scheduledDate: string;
   scheduledTime: string;
+  // Job card counts per status
+  pendingCards: number;
+  travelingCards: number;
+  startedCards: number;
+  onHoldCards: number;
+  completedCards: number;
+  cancelledCards: number;
   createdBy: string;
   createdAt: string;
 }
@@ -240,6 +247,26 @@ export interface ScoreRequest {
   // Score is automatically set to the weight from MainTicket
 }
 
+export type BulkApprovalOutcome = 'APPROVED' | 'ALREADY_APPROVED' | 'NOT_COMPLETED' | 'NOT_FOUND';
+
+export interface BulkApprovalResult {
+  requestedCount: number;
+  approvedCount: number;
+  skippedCount: number;
+  scoresCreated: number;
+  results: {
+    miniJobCardId: number;
+    outcome: BulkApprovalOutcome;
+    message: string;
+  }[];
+}
+
+export interface BulkApprovalFilterRequest {
+  employeeId?: number;
+  startDate: string; // YYYY-MM-DD
+  endDate: string; // YYYY-MM-DD
+}
+
 export interface ApprovalStatistics {
   totalPending: number;
   totalApproved: number;
@@ -410,6 +437,14 @@ export interface PageResponse<T> {
   empty: boolean;
 }
 
+// Keyset-paginated slice; pass nextCursor back as `cursor` for the next slice
+export interface CursorPage<T> {
+  content: T[];
+  size: number;
+  nextCursor: string | null;
+  hasNext: boolean;
+}
+
 // ===========================
 // ACTIVITY LOG TYPES
 // ===========================